@@ -0,0 +1,45 @@
+package java.time.zone;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jresearch.threetenbp.gwt.client.loader.TzdbChunkLoader;
+
+//JDK implementation/ real in /src/main/super
+public class ChunkedTzdbZoneRulesProvider extends ZoneRulesProvider {
+
+	public ChunkedTzdbZoneRulesProvider(String index, TzdbChunkLoader loader) {
+		super();
+	}
+
+	@Override
+	protected Set<String> provideZoneIds() {
+		return Collections.emptySet();
+	}
+
+	@Override
+	protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+		return null;
+	}
+
+	@Override
+	protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+		return new TreeMap<>();
+	}
+
+	public void prefetch(String zoneId) {
+		// nothing
+	}
+
+	public void prefetch(Collection<String> zoneIds, Runnable ready) {
+		// nothing
+	}
+
+	public boolean isLoaded(String zoneId) {
+		return false;
+	}
+
+}
@@ -1,8 +1,12 @@
 package java.time.zone;
 
 import java.nio.ByteBuffer;
+import java.util.Map;
 import java.time.zone.ZoneRulesProvider;
 
+import org.jresearch.threetenbp.gwt.client.loader.TzdbChunkLoader;
+import org.jresearch.threetenbp.gwt.client.loader.ZoneOffsetProbe;
+
 //JDK implementation/ real in /src/main/super
 public class Providers {
 
@@ -14,4 +18,28 @@ public class Providers {
 		return null;
 	}
 
+	public static ZoneRulesProvider of(ByteBuffer data, int horizonYear) {
+		return null;
+	}
+
+	public static ZoneRulesProvider ofIntl(String index, ZoneOffsetProbe probe) {
+		return null;
+	}
+
+	public static ZoneRulesProvider ofTzif(String version, Map<String, ByteBuffer> files) {
+		return null;
+	}
+
+	public static boolean offer(ZoneRulesProvider provider, ByteBuffer data) {
+		return false;
+	}
+
+	public static int getRevision() {
+		return 0;
+	}
+
+	public static ChunkedTzdbZoneRulesProvider ofChunks(String index, TzdbChunkLoader loader) {
+		return null;
+	}
+
 }
@@ -0,0 +1,33 @@
+package java.time.zone;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+//JDK implementation/ real in /src/main/super
+public final class TzdbStreamParser {
+
+	public TzdbStreamParser(int expectedLength) {
+		// nothing
+	}
+
+	public TzdbStreamParser(int expectedLength, int horizonYear) {
+		// nothing
+	}
+
+	public boolean append(ByteBuffer chunk) {
+		return false;
+	}
+
+	public boolean isComplete() {
+		return false;
+	}
+
+	public List<String> getZoneIds() {
+		return null;
+	}
+
+	public ZoneRulesProvider getProvider() {
+		return null;
+	}
+
+}
@@ -0,0 +1,23 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import javax.annotation.Nullable;
+
+import elemental2.core.ArrayBuffer;
+import jsinterop.annotations.JsFunction;
+
+/**
+ * Receives the chunks of a streamed download, see
+ * {@link SupportJs#streamBinary(String, BinaryStreamCallback)}
+ */
+@JsFunction
+public interface BinaryStreamCallback {
+
+	/**
+	 * @param chunk  - the next chunk, null when the download is complete or
+	 *               failed
+	 * @param length - the expected total length, 0 if unknown, -1 if the
+	 *               download failed
+	 */
+	void onChunk(@Nullable ArrayBuffer chunk, double length);
+
+}
@@ -0,0 +1,100 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import javax.annotation.Nonnull;
+
+import com.google.gwt.i18n.client.DateTimeFormatInfo;
+import com.google.gwt.i18n.client.LocaleInfo;
+import com.google.gwt.i18n.client.constants.NumberConstants;
+
+/**
+ * The date-time texts and the number symbols compiled from CLDR into the
+ * locale permutation (GWT {@link LocaleInfo} deferred binding), used instead
+ * of the {@code Intl} probing when the {@code gwt.time.text} property is
+ * "cldr". Only the locale of the permutation is compiled in, the other
+ * locales still use {@code Intl}.
+ */
+public final class CldrSymbols {
+
+	private static DateTimeSymbols symbols;
+	private static DecimalProperty number;
+
+	private CldrSymbols() {
+		// prevent instantiation
+	}
+
+	/**
+	 * @param locale - language tag
+	 * @return true if the texts of the locale are compiled in: the locale of the
+	 *         permutation or its language, the default permutation is English
+	 */
+	public static boolean supports(@Nonnull String locale) {
+		String compiled = getLocale();
+		if (compiled.equalsIgnoreCase(locale)) {
+			return true;
+		}
+		int end = locale.indexOf('-');
+		return end > 0 && compiled.indexOf('-') < 0 && compiled.equalsIgnoreCase(locale.substring(0, end));
+	}
+
+	/**
+	 * @return the language tag of the permutation locale
+	 */
+	@Nonnull
+	public static String getLocale() {
+		String name = LocaleInfo.getCurrentLocale().getLocaleName();
+		return "default".equals(name) ? "en" : name.replace('_', '-');
+	}
+
+	/**
+	 * @return the texts of the permutation locale, in the
+	 *         {@link Support#displaySymbols(String)} layout
+	 */
+	@Nonnull
+	public static DateTimeSymbols displaySymbols() {
+		if (symbols == null) {
+			DateTimeFormatInfo info = LocaleInfo.getCurrentLocale().getDateTimeFormatInfo();
+			DateTimeSymbols result = new DateTimeSymbols();
+			result.months = new String[][] { info.monthsFull(), info.monthsFullStandalone(), info.monthsShort(),
+					info.monthsShortStandalone(), info.monthsNarrow(), info.monthsNarrowStandalone() };
+			result.weekdays = new String[][] { mondayFirst(info.weekdaysFull()),
+					mondayFirst(info.weekdaysFullStandalone()), mondayFirst(info.weekdaysShort()),
+					mondayFirst(info.weekdaysShortStandalone()), mondayFirst(info.weekdaysNarrow()),
+					mondayFirst(info.weekdaysNarrowStandalone()) };
+			// CLDR in GWT has no narrow eras and one AM/PM style
+			result.eras = new String[][] { info.erasFull(), info.erasShort(), info.erasShort() };
+			result.ampm = new String[][] { info.ampms(), info.ampms(), info.ampms() };
+			symbols = result;
+		}
+		return symbols;
+	}
+
+	/**
+	 * @return the number symbols of the permutation locale
+	 */
+	@Nonnull
+	public static DecimalProperty displayNumber() {
+		if (number == null) {
+			NumberConstants constants = LocaleInfo.getCurrentLocale().getNumberConstants();
+			DecimalProperty result = new DecimalProperty();
+			result.zeroDigit = constants.zeroDigit();
+			result.positiveSign = constants.plusSign();
+			result.negativeSign = constants.minusSign();
+			result.decimalSeparator = constants.decimalSeparator();
+			number = result;
+		}
+		return number;
+	}
+
+	/**
+	 * @param weekdays - Sunday first
+	 * @return Monday first
+	 */
+	private static String[] mondayFirst(String[] weekdays) {
+		String[] result = new String[weekdays.length];
+		for (int i = 0; i < weekdays.length; i++) {
+			result[i] = weekdays[(i + 1) % weekdays.length];
+		}
+		return result;
+	}
+
+}
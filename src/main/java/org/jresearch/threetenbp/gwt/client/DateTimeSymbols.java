@@ -0,0 +1,32 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+
+import jsinterop.annotations.JsType;
+
+/**
+ * The localized date-time texts of a locale, see
+ * {@link Support#displaySymbols(String)}.
+ */
+@JsType(isNative = true, namespace = GLOBAL, name = "Object")
+public class DateTimeSymbols {
+	/**
+	 * The month names, January first, by the {@link java.time.format.TextStyle}
+	 * ordinal: long, long standalone, short, short standalone, narrow, narrow
+	 * standalone.
+	 */
+	public String[][] months;
+	/**
+	 * The day-of-week names, Monday first, by the
+	 * {@link java.time.format.TextStyle} ordinal.
+	 */
+	public String[][] weekdays;
+	/**
+	 * The era names, BC first, long, short and narrow.
+	 */
+	public String[][] eras;
+	/**
+	 * The AM/PM texts, AM first, long, short and narrow.
+	 */
+	public String[][] ampm;
+}
@@ -0,0 +1,25 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+
+import jsinterop.annotations.JsType;
+
+/**
+ * The counters of the {@code Intl} formatter cache, see
+ * {@link Support#getFormatCacheStats()}.
+ */
+@JsType(isNative = true, namespace = GLOBAL, name = "Object")
+public class FormatCacheStats {
+	/**
+	 * The calls that reused a cached formatter.
+	 */
+	public int hits;
+	/**
+	 * The calls that created a formatter.
+	 */
+	public int misses;
+	/**
+	 * The cached formatters.
+	 */
+	public int size;
+}
@@ -1,17 +1,33 @@
 package org.jresearch.threetenbp.gwt.client;
 
-import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Year;
+import java.time.zone.ChunkedTzdbZoneRulesProvider;
 import java.time.zone.Providers;
+import java.time.zone.TzdbStreamParser;
+import java.time.zone.ZoneRulesException;
 import java.time.zone.ZoneRulesProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.gwtproject.nio.TypedArrayHelper;
 import org.gwtproject.typedarrays.shared.Uint8Array;
 import org.gwtproject.xhr.client.ReadyStateChangeHandler;
 import org.gwtproject.xhr.client.XMLHttpRequest;
 import org.gwtproject.xhr.client.XMLHttpRequest.ResponseType;
+import org.jresearch.threetenbp.gwt.client.loader.IntlZoneOffsetProbe;
+import org.jresearch.threetenbp.gwt.client.loader.LocalStorageTzdbStore;
 import org.jresearch.threetenbp.gwt.client.loader.TimeJsBundle;
+import org.jresearch.threetenbp.gwt.client.loader.TzdbStore;
+import org.jresearch.threetenbp.gwt.client.loader.XhrTzdbChunkLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,9 +43,55 @@ public class Support {
 
 	private static final TimeJsBundle bundle = GWT.create(TimeJsBundle.class);
 
+	/**
+	 * TZDB loading strategy, see {@link TzdbLoading}. Resolved at compile time,
+	 * so the unused TZDB encoding is not compiled in. The values are lower case,
+	 * an other value is the {@link TzdbLoading#LAZY} strategy.
+	 */
+	private static final String TZDB_LOADING = System.getProperty("gwt.time.tzdb.loading", "lazy");
+	private static final boolean TZDB_EAGER = "eager".equals(TZDB_LOADING);
+	private static final boolean TZDB_ASYNC = "async".equals(TZDB_LOADING);
+	private static final boolean TZDB_CHUNKED = "chunked".equals(TZDB_LOADING);
+	private static final boolean TZDB_INTL = "intl".equals(TZDB_LOADING);
+	private static final boolean TZDB_NONE = "none".equals(TZDB_LOADING);
+	/**
+	 * The first year the rules decode the transitions for, the earlier ones are
+	 * decoded on demand (the {@code gwt.time.tzdb.horizon} property, "none" to
+	 * decode all the transitions). Not used by the {@link TzdbLoading#CHUNKED}
+	 * strategy.
+	 */
+	private static final String TZDB_HORIZON = System.getProperty("gwt.time.tzdb.horizon", "none");
+	/**
+	 * Keeps the binary TZDB in the {@code localStorage} between page loads (the
+	 * {@code gwt.time.tzdb.cache} property is "local"). Not used by the
+	 * {@link TzdbLoading#CHUNKED} strategy.
+	 */
+	private static final boolean TZDB_CACHED = "local".equals(System.getProperty("gwt.time.tzdb.cache", "none"));
+	/**
+	 * The zones decoded right after the TZDB data are registered (the
+	 * {@code gwt.time.tzdb.preload} property, comma separated, "default" is the
+	 * browser time-zone, "none" to decode all the zones on demand). For the
+	 * {@link TzdbLoading#CHUNKED} strategy the chunks of the zones are
+	 * downloaded in background instead, the TZDB data are ready once they are
+	 * loaded.
+	 */
+	private static final String TZDB_PRELOAD = System.getProperty("gwt.time.tzdb.preload", "default");
+	/**
+	 * The source of the localized texts and number symbols (the
+	 * {@code gwt.time.text} property): "intl" probes the browser {@code Intl}
+	 * API, "cldr" uses the CLDR data compiled into the locale permutation, see
+	 * {@link CldrSymbols}.
+	 */
+	private static final boolean TEXT_CLDR = "cldr".equals(System.getProperty("gwt.time.text", "intl"));
+
+	private static final List<Runnable> tzReadyCallbacks = new ArrayList<>();
+
 	private static boolean commonInitialized = false;
 	private static boolean tzTnitializing = false;
 	private static boolean tzTnitialized = false;
+	private static ZoneRulesProvider tzProvider;
+	private static float tzPreloadTime = -1;
+	private static List<String> tzPreloadedZones = Collections.emptyList();
 
 	static {
 		init();
@@ -41,56 +103,488 @@ public class Support {
 			ScriptInjector.fromString(bundle.support().getText()).setWindow(ScriptInjector.TOP_WINDOW).inject();
 			ScriptInjector.fromString(bundle.base64binary().getText()).setWindow(ScriptInjector.TOP_WINDOW).inject();
 			commonInitialized = true;
-			XMLHttpRequest request = XMLHttpRequest.create();
-			request.open("GET", bundle.tzdb().getSafeUri().asString());
-			request.setResponseType(ResponseType.ArrayBuffer);
-			request.setOnReadyStateChange(new ReadyStateChangeHandler() {
-				@Override
-				public void onReadyStateChange(XMLHttpRequest xhr) {
-					if (xhr.getReadyState() == XMLHttpRequest.DONE) {
-						if (xhr.getStatus() == 200) {
-							if (!tzTnitialized && !tzTnitializing) {
-								tzTnitializing = true;
-								LOGGER.trace("tz asynch initialization");
-								ArrayBuffer buffer = Js.cast(xhr.getResponseArrayBuffer());
-								ByteBuffer data = TypedArrayHelper.wrap(buffer);
-								ZoneRulesProvider provider = Providers.of(data);
-								ZoneRulesProvider.registerProvider(provider);
-								tzTnitialized = true;
-							}
-						} else {
-							LOGGER.error("Can't load TZDB asynch. Response status: {} {}", xhr.getStatus(),
-									xhr.getStatusText());
-						}
-					}
+			if (TZDB_ASYNC) {
+				loadTzData();
+			} else if (TZDB_EAGER || TZDB_CHUNKED || TZDB_INTL) {
+				initTzData();
+			}
+		}
+	}
+
+	/**
+	 * Downloads the binary TZDB ({@link TzdbLoading#ASYNC} strategy), the data
+	 * are parsed as they arrive unless they are stored in the cache
+	 */
+	private static void loadTzData() {
+		if (!TZDB_CACHED) {
+			streamTzData(bundle.tzdb().getSafeUri().asString());
+			return;
+		}
+		String url = bundle.tzdb().getSafeUri().asString();
+		String key = getTzdbKey(url);
+		ZoneRulesProvider cached = loadStored(new LocalStorageTzdbStore(), key);
+		if (cached != null) {
+			LOGGER.trace("tz initialization from the store");
+			registerTzData(() -> cached);
+			return;
+		}
+		// the whole download is stored
+		loadBinary(url, buffer -> {
+			LOGGER.trace("tz asynch initialization");
+			new LocalStorageTzdbStore().store(key, buffer);
+			registerTzData(() -> toProvider(buffer));
+		});
+	}
+
+	/**
+	 * Streams the binary TZDB, each chunk is parsed as it arrives, the data are
+	 * registered when the last chunk is parsed. If the streamed data can't be
+	 * downloaded or parsed the whole download is parsed at once.
+	 */
+	private static void streamTzData(@Nonnull String url) {
+		TzdbStreamParser[] parser = new TzdbStreamParser[1];
+		boolean[] failed = new boolean[1];
+		SupportJs.streamBinary(url, (chunk, length) -> {
+			if (failed[0]) {
+				return;
+			}
+			try {
+				if (length < 0) {
+					throw new ZoneRulesException("TZDB data download failed");
+				}
+				if (parser[0] == null) {
+					// the expected length presizes the buffer, the chunks are copied once
+					parser[0] = new TzdbStreamParser((int) length, getHorizonYear());
+				}
+				if (chunk != null) {
+					parser[0].append(TypedArrayHelper.wrap(chunk));
+				} else if (parser[0].isComplete()) {
+					LOGGER.trace("tz streamed initialization");
+					registerTzData(parser[0]::getProvider);
+				} else {
+					throw new ZoneRulesException("Incomplete TZDB data");
+				}
+			} catch (ZoneRulesException e) {
+				LOGGER.error("Can't stream the TZDB data from {}, loading them at once", url, e);
+				failed[0] = true;
+				loadBinary(url, buffer -> {
+					LOGGER.trace("tz asynch initialization");
+					registerTzData(() -> toProvider(buffer));
+				});
+			}
+		});
+	}
+
+	/**
+	 * Decodes the embedded TZDB ({@link TzdbLoading#EAGER} and
+	 * {@link TzdbLoading#LAZY} strategies) or registers the chunk index
+	 * ({@link TzdbLoading#CHUNKED} and {@link TzdbLoading#INTL} strategies).
+	 * Does nothing for the
+	 * {@link TzdbLoading#ASYNC} strategy, the data are registered as soon as
+	 * download is complete, and for the {@link TzdbLoading#NONE} strategy.
+	 */
+	public static void initTzData() {
+		if (TZDB_ASYNC || TZDB_NONE) {
+			return;
+		}
+		if (TZDB_INTL) {
+			registerTzData(() -> {
+				LOGGER.trace("tz Intl initialization");
+				return Providers.ofIntl(bundle.tzdbIndex().getText(), new IntlZoneOffsetProbe());
+			});
+		} else if (TZDB_CHUNKED) {
+			registerTzData(() -> {
+				LOGGER.trace("tz chunked initialization");
+				return Providers.ofChunks(bundle.tzdbIndex().getText(), new XhrTzdbChunkLoader());
+			});
+		} else {
+			registerTzData(() -> {
+				LOGGER.trace("tz synch initialization");
+				String encoded = bundle.tzdbEncoded().getText();
+				Supplier<ArrayBuffer> source = () -> Support.decodeArrayBuffer(encoded);
+				if (TZDB_CACHED) {
+					// the URL of the same data, the text is not hashed on each start
+					String key = getTzdbKey(bundle.tzdb().getSafeUri().asString());
+					return loadProvider(new LocalStorageTzdbStore(), key, source);
 				}
+				return toProvider(source.get());
 			});
-			request.send();
 		}
 	}
 
-	public static void initTzData() {
+	/**
+	 * Creates the provider from the stored data, if there are no stored data
+	 * for the version, the data from the source are stored
+	 */
+	@Nonnull
+	static ZoneRulesProvider loadProvider(@Nonnull TzdbStore store, @Nonnull String version,
+			@Nonnull Supplier<ArrayBuffer> source) {
+		ZoneRulesProvider provider = loadStored(store, version);
+		if (provider == null) {
+			ArrayBuffer buffer = source.get();
+			provider = toProvider(buffer);
+			store.store(version, buffer);
+		}
+		return provider;
+	}
+
+	/**
+	 * @return the provider created from the stored data or null if there are no
+	 *         valid data for the version, the invalid data are removed
+	 */
+	@Nullable
+	private static ZoneRulesProvider loadStored(@Nonnull TzdbStore store, @Nonnull String version) {
+		ArrayBuffer buffer = store.load(version);
+		if (buffer != null) {
+			try {
+				return toProvider(buffer);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Can't read the stored TZDB {}, discard it", version, e);
+				store.remove(version);
+			}
+		}
+		return null;
+	}
+
+	@Nonnull
+	private static ZoneRulesProvider toProvider(@Nonnull ArrayBuffer buffer) {
+		return Providers.of(TypedArrayHelper.wrap(buffer), getHorizonYear());
+	}
+
+	/**
+	 * @return the {@code gwt.time.tzdb.horizon} year, {@link Year#MIN_VALUE} for
+	 *         "none"
+	 */
+	private static int getHorizonYear() {
+		return "none".equals(TZDB_HORIZON) ? Year.MIN_VALUE : Integer.parseInt(TZDB_HORIZON);
+	}
+
+	/**
+	 * @return the version of the embedded TZDB (the first line of the index)
+	 */
+	@Nonnull
+	static String getTzdbVersion() {
+		String index = bundle.tzdbIndex().getText();
+		int end = index.indexOf('\n');
+		return (end < 0 ? index : index.substring(0, end)).trim();
+	}
+
+	/**
+	 * The data may change without the version of the index, for example
+	 * converted to the v2 format or trimmed to a subset, so the store key
+	 * includes the hash of the TZDB URL, that is named by the hash of the
+	 * content at compile time. The embedded text is built from the same data.
+	 *
+	 * @param source - the TZDB URL
+	 * @return the store key of the TZDB data, the version and the hash of the
+	 *         source
+	 */
+	@Nonnull
+	static String getTzdbKey(@Nonnull String source) {
+		return getTzdbVersion() + "-" + Integer.toHexString(source.hashCode());
+	}
+
+	/**
+	 * The only place where TZDB data are registered, the provider is created
+	 * only once
+	 */
+	private static void registerTzData(Supplier<ZoneRulesProvider> provider) {
 		if (!tzTnitialized && !tzTnitializing) {
 			tzTnitializing = true;
-			LOGGER.trace("tz synch initialization");
-			String tzData = bundle.tzdbEncoded().getText();
-			ArrayBuffer buffer = Support.decodeArrayBuffer(tzData);
-			ByteBuffer data = TypedArrayHelper.wrap(buffer);
-			ZoneRulesProvider provider = Providers.of(data);
-			ZoneRulesProvider.registerProvider(provider);
-			tzTnitialized = true;
+			try {
+				tzProvider = provider.get();
+				ZoneRulesProvider.registerProvider(tzProvider);
+			} catch (RuntimeException e) {
+				// nothing is registered, an other registration may succeed
+				tzProvider = null;
+				tzTnitializing = false;
+				throw e;
+			}
+			try {
+				if (tzProvider instanceof ChunkedTzdbZoneRulesProvider) {
+					// the zones of the other chunks are loaded synchronously on demand
+					float start = getTimestamp();
+					((ChunkedTzdbZoneRulesProvider) tzProvider).prefetch(getPreloadZoneIds(), () -> {
+						tzPreloadTime = getTimestamp() - start;
+						tzDataReady();
+					});
+					return;
+				}
+				if (!"none".equals(TZDB_PRELOAD)) {
+					float start = getTimestamp();
+					tzPreloadedZones = decodeZones(getPreloadZoneIds());
+					tzPreloadTime = getTimestamp() - start;
+				}
+			} catch (RuntimeException e) {
+				// the provider is registered, the zones are decoded on demand
+				LOGGER.error("Can't preload the TZDB zones", e);
+			}
+			tzDataReady();
+		}
+	}
+
+	/**
+	 * Replaces the registered TZDB data state, for the tests. The provider of
+	 * the replaced state stays registered in {@link ZoneRulesProvider}.
+	 *
+	 * @param provider - the registered provider, null for no TZDB data
+	 * @return the provider of the replaced state, null if none
+	 */
+	@Nullable
+	static ZoneRulesProvider swapTzData(@Nullable ZoneRulesProvider provider) {
+		ZoneRulesProvider previous = tzProvider;
+		tzProvider = provider;
+		tzTnitialized = provider != null;
+		tzTnitializing = false;
+		return previous;
+	}
+
+	private static void tzDataReady() {
+		tzTnitialized = true;
+		tzTnitializing = false;
+		for (Runnable callback : tzReadyCallbacks) {
+			callback.run();
+		}
+		tzReadyCallbacks.clear();
+	}
+
+	/**
+	 * @return the {@code gwt.time.tzdb.preload} zone IDs, "default" replaced by
+	 *         the browser time-zone, empty for "none"
+	 */
+	@Nonnull
+	private static List<String> getPreloadZoneIds() {
+		List<String> zoneIds = new ArrayList<>();
+		if (!"none".equals(TZDB_PRELOAD)) {
+			for (String zoneId : TZDB_PRELOAD.split(",")) {
+				String id = zoneId.trim();
+				zoneIds.add("default".equals(id) ? getTimezone() : id);
+			}
 		}
+		return zoneIds;
+	}
+
+	/**
+	 * Registers the application time-zone rules ({@link TzdbLoading#NONE}
+	 * strategy), for example the TZif files of the used zones:
+	 *
+	 * <pre>
+	 * Support.registerTzProvider(Providers.ofTzif("2025b", files));
+	 * </pre>
+	 *
+	 * @param provider - the provider, not null
+	 * @return false if the TZDB data are already registered
+	 */
+	public static boolean registerTzProvider(@Nonnull ZoneRulesProvider provider) {
+		Objects.requireNonNull(provider, "provider");
+		if (tzTnitialized || tzTnitializing) {
+			return false;
+		}
+		registerTzData(() -> provider);
+		return true;
+	}
+
+	/**
+	 * Decodes and caches the rules of the zones, so the first use of the zones
+	 * does not pay for the decoding. The unknown zones are skipped.
+	 *
+	 * @param zoneIds - the zone IDs, "default" is the browser time-zone
+	 * @return the decoding time in milliseconds
+	 */
+	public static float preloadZones(@Nonnull String... zoneIds) {
+		float start = getTimestamp();
+		decodeZones(Arrays.asList(zoneIds));
+		return getTimestamp() - start;
+	}
+
+	/**
+	 * @param zoneIds - the zone IDs, "default" is the browser time-zone
+	 * @return the IDs of the decoded zones, the unknown zones are skipped
+	 */
+	@Nonnull
+	private static List<String> decodeZones(@Nonnull Iterable<String> zoneIds) {
+		List<String> decoded = new ArrayList<>();
+		for (String zoneId : zoneIds) {
+			String id = zoneId.trim();
+			if ("default".equals(id)) {
+				id = getTimezone();
+			}
+			try {
+				ZoneRulesProvider.getRules(id, true);
+				decoded.add(id);
+			} catch (DateTimeException e) {
+				LOGGER.debug("Can't preload the zone {}: {}", id, e.getMessage());
+			}
+		}
+		LOGGER.debug("{} zones preloaded", decoded.size());
+		return decoded;
+	}
+
+	/**
+	 * @return the time in milliseconds spent to decode the
+	 *         {@code gwt.time.tzdb.preload} zones (to download their chunks for
+	 *         the {@link TzdbLoading#CHUNKED} strategy) when the TZDB data were
+	 *         registered, -1 if not decoded (yet)
+	 */
+	public static float getPreloadTime() {
+		return tzPreloadTime;
+	}
+
+	/**
+	 * @return the IDs of the {@code gwt.time.tzdb.preload} zones decoded when
+	 *         the TZDB data were registered, empty if not decoded (yet) or for
+	 *         the {@link TzdbLoading#CHUNKED} strategy (the chunks are only
+	 *         downloaded)
+	 */
+	@Nonnull
+	public static List<String> getPreloadedZones() {
+		return Collections.unmodifiableList(tzPreloadedZones);
+	}
+
+	/**
+	 * Replaces the registered TZDB data with a newer version, for example
+	 * downloaded with {@link #loadBinary(String, Consumer)}. The zones obtained
+	 * after the call use the new rules, the zone IDs added by the new version
+	 * become available. Not supported by the {@link TzdbLoading#CHUNKED}
+	 * strategy.
+	 *
+	 * @param data - the binary TZDB, not null
+	 * @return true if the rules were updated, false if the TZDB data are not
+	 *         registered yet, the strategy does not support it or the version
+	 *         is already loaded
+	 */
+	public static boolean refreshTzData(@Nonnull ArrayBuffer data) {
+		Objects.requireNonNull(data, "data");
+		if (tzProvider == null || !Providers.offer(tzProvider, TypedArrayHelper.wrap(data))) {
+			return false;
+		}
+		return ZoneRulesProvider.refresh();
+	}
+
+	/**
+	 * Asynchronous download
+	 *
+	 * @param url      - resource to download
+	 * @param callback - receives the content, is not called in case of error
+	 */
+	public static void loadBinary(@Nonnull String url, @Nonnull Consumer<ArrayBuffer> callback) {
+		loadBinary(url, callback, () -> {
+			// logged
+		});
+	}
+
+	/**
+	 * Asynchronous download
+	 *
+	 * @param url      - resource to download
+	 * @param callback - receives the content
+	 * @param failure  - called in case of error
+	 */
+	public static void loadBinary(@Nonnull String url, @Nonnull Consumer<ArrayBuffer> callback,
+			@Nonnull Runnable failure) {
+		XMLHttpRequest request = XMLHttpRequest.create();
+		request.open("GET", url);
+		request.setResponseType(ResponseType.ArrayBuffer);
+		request.setOnReadyStateChange(new ReadyStateChangeHandler() {
+			@Override
+			public void onReadyStateChange(XMLHttpRequest xhr) {
+				if (xhr.getReadyState() == XMLHttpRequest.DONE) {
+					if (xhr.getStatus() == 200) {
+						callback.accept(Js.cast(xhr.getResponseArrayBuffer()));
+					} else {
+						LOGGER.error("Can't load {} asynch. Response status: {} {}", url, xhr.getStatus(),
+								xhr.getStatusText());
+						failure.run();
+					}
+				}
+			}
+		});
+		request.send();
+	}
+
+	/**
+	 * Synchronous download, blocks the page until the content is loaded, prefer
+	 * {@link #loadBinary(String, Consumer)}
+	 *
+	 * @param url - resource to download
+	 * @return the content or null in case of error
+	 */
+	@Nullable
+	public static ArrayBuffer loadBinary(@Nonnull String url) {
+		return SupportJs.loadBinary(url);
+	}
+
+	/**
+	 * Runs the callback when the TZDB data are registered. If the data are
+	 * already registered the callback runs immediately. For the
+	 * {@link TzdbLoading#EAGER} and {@link TzdbLoading#LAZY} strategies the
+	 * data are available on demand, so the call initializes it.
+	 *
+	 * @param callback - the callback to run, not null
+	 */
+	public static void onTzReady(@Nonnull Runnable callback) {
+		Objects.requireNonNull(callback, "callback");
+		if (!tzTnitialized) {
+			initTzData();
+		}
+		if (tzTnitialized) {
+			callback.run();
+		} else {
+			tzReadyCallbacks.add(callback);
+		}
+	}
+
+	/**
+	 * @return true if the TZDB data are registered
+	 */
+	public static boolean isTzReady() {
+		return tzTnitialized;
+	}
+
+	/**
+	 * @return the TZDB loading strategy, configured by the
+	 *         {@code gwt.time.tzdb.loading} property
+	 */
+	@Nonnull
+	public static TzdbLoading getTzdbLoading() {
+		// the same flags as the loading, not TzdbLoading.of that ignores the case
+		if (TZDB_EAGER) {
+			return TzdbLoading.EAGER;
+		} else if (TZDB_ASYNC) {
+			return TzdbLoading.ASYNC;
+		} else if (TZDB_CHUNKED) {
+			return TzdbLoading.CHUNKED;
+		} else if (TZDB_INTL) {
+			return TzdbLoading.INTL;
+		} else if (TZDB_NONE) {
+			return TzdbLoading.NONE;
+		}
+		return TzdbLoading.LAZY;
 	}
 
 	public static float getTimestamp() {
 		return SupportJs.getTimestamp();
 	}
 
+	/**
+	 * @return the browser time-zone, cached, re-read on
+	 *         {@link #refreshTimezone()} and when the page becomes visible
+	 */
 	@Nonnull
 	public static String getTimezone() {
 		return SupportJs.getTimezone();
 	}
 
+	/**
+	 * Reads the browser time-zone again, {@link java.time.ZoneId#systemDefault()}
+	 * follows the change
+	 *
+	 * @return true if the time-zone has changed
+	 */
+	public static boolean refreshTimezone() {
+		return SupportJs.refreshTimezone();
+	}
+
 	public static void sleep(int milliseconds) {
 		SupportJs.sleep(milliseconds);
 	}
@@ -140,14 +634,50 @@ public class Support {
 		return SupportJs.displayAmpm(style, locale);
 	}
 
+	/**
+	 * All the month, day-of-week, era and AM/PM texts of the locale, for all
+	 * the styles, in one call. Replaces the {@code displayMonths},
+	 * {@code displayWeekdays}, {@code displayEras} and {@code displayAmpm} calls
+	 * for each style.
+	 *
+	 * @param locale - language tag
+	 */
+	@Nonnull
+	public static DateTimeSymbols displaySymbols(String locale) {
+		if (TEXT_CLDR && CldrSymbols.supports(locale)) {
+			return CldrSymbols.displaySymbols();
+		}
+		return SupportJs.displaySymbols(locale);
+	}
+
 	@Nonnull
 	public static DecimalProperty displayNumber(String locale) {
+		if (TEXT_CLDR && CldrSymbols.supports(locale)) {
+			return CldrSymbols.displayNumber();
+		}
 		return SupportJs.displayNumber(locale);
 	}
 
+	/**
+	 * @return the hit and miss counters of the {@code Intl} formatter cache
+	 *         shared by the {@code display*} methods, the formatters are cached
+	 *         by the locale and the options
+	 */
+	@Nonnull
+	public static FormatCacheStats getFormatCacheStats() {
+		return SupportJs.formatCacheStats();
+	}
+
+	/**
+	 * Removes the cached {@code Intl} formatters and resets the counters
+	 */
+	public static void clearFormatCache() {
+		SupportJs.clearFormatCache();
+	}
+
 	@Nonnull
 	public static ArrayBuffer decodeArrayBuffer(String base64) {
-		return SupportJs.decodeArrayBuffer(base64);
+		return SupportJs.decodeBase64(base64);
 	}
 
 	@Nonnull
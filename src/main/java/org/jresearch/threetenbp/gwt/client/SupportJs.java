@@ -3,6 +3,7 @@ package org.jresearch.threetenbp.gwt.client;
 import static jsinterop.annotations.JsPackage.GLOBAL;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.gwtproject.typedarrays.shared.Uint8Array;
 
@@ -18,10 +19,22 @@ public class SupportJs {
 	@JsMethod(namespace = JsPackage.GLOBAL)
 	public static native float getTimestamp();
 
+	/**
+	 * @return the browser time-zone, read once and again on
+	 *         {@link #refreshTimezone()} or when the page becomes visible
+	 */
 	@Nonnull
 	@JsMethod(namespace = JsPackage.GLOBAL)
 	public static native String getTimezone();
 
+	/**
+	 * Reads the browser time-zone again
+	 *
+	 * @return true if the time-zone has changed
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native boolean refreshTimezone();
+
 	@Nonnull
 	@JsMethod(namespace = JsPackage.GLOBAL)
 	public static native void sleep(int milliseconds);
@@ -66,10 +79,95 @@ public class SupportJs {
 	@JsMethod(namespace = JsPackage.GLOBAL)
 	public static native String[] displayAmpm(String style, String locale);
 
+	/**
+	 * All the month, day-of-week, era and AM/PM texts of the locale in one call
+	 *
+	 * @param locale - language tag
+	 */
+	@Nonnull
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native DateTimeSymbols displaySymbols(String locale);
+
 	@Nonnull
 	@JsMethod(namespace = JsPackage.GLOBAL)
 	public static native DecimalProperty displayNumber(String locale);
 
+	/**
+	 * @return the counters of the {@code Intl} formatter cache shared by the
+	 *         {@code display*} functions
+	 */
+	@Nonnull
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native FormatCacheStats formatCacheStats();
+
+	/**
+	 * Removes the cached {@code Intl} formatters and resets the counters
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native void clearFormatCache();
+
+	/**
+	 * @param timeZone    - the zone ID
+	 * @param epochSecond - the instant, whole seconds
+	 * @return the wall offset of the zone in seconds, NaN if the zone is unknown
+	 *         or {@code Intl} is not available
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native double zoneOffset(String timeZone, double epochSecond);
+
+	/**
+	 * Synchronous download
+	 *
+	 * @param url - resource to download
+	 * @return the content or null in case of error
+	 */
+	@Nullable
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native ArrayBuffer loadBinary(String url);
+
+	/**
+	 * Streamed asynchronous download, the chunks are passed to the callback as
+	 * they arrive ({@code fetch} streams), the whole content is one chunk if the
+	 * streams are not supported. In case of error the callback receives null
+	 * and the length -1.
+	 *
+	 * @param url      - resource to download
+	 * @param callback - receives the chunks, then null when the download is
+	 *                 complete or failed
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native void streamBinary(String url, BinaryStreamCallback callback);
+
+	/**
+	 * Stores the binary data to the {@code localStorage}
+	 *
+	 * @return false if the data can't be stored
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native boolean storeBinary(String key, ArrayBuffer data);
+
+	/**
+	 * @return the binary data from the {@code localStorage} or null if there is
+	 *         no such key
+	 */
+	@Nullable
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native ArrayBuffer readStoredBinary(String key);
+
+	/**
+	 * Removes all {@code localStorage} keys starting with the prefix
+	 */
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native void removeStoredBinaries(String prefix);
+
+	/**
+	 * Decodes with {@code atob}, falls back to {@link #decodeArrayBuffer(String)}
+	 * if it is not available
+	 */
+	@Nonnull
+	@JsMethod(namespace = JsPackage.GLOBAL)
+	public static native ArrayBuffer decodeBase64(String base64);
+
 	@Nonnull
 	@JsMethod(namespace = "Base64Binary")
 	public static native ArrayBuffer decodeArrayBuffer(String base64);
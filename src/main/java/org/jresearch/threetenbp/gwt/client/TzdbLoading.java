@@ -0,0 +1,76 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Strategy used to load the TZDB time-zone data.
+ * <p>
+ * The strategy is selected with the {@code gwt.time.tzdb.loading} configuration
+ * property of the GWT module, for example:
+ *
+ * <pre>
+ * &lt;set-configuration-property name="gwt.time.tzdb.loading" value="async"/&gt;
+ * </pre>
+ *
+ * Whatever the strategy, the TZDB is decoded exactly once.
+ */
+public enum TzdbLoading {
+
+	/**
+	 * Decodes the embedded (base64) TZDB during {@link Support#init()}.
+	 */
+	EAGER,
+	/**
+	 * Downloads the binary TZDB in background. Zones are not available until
+	 * the download is complete, use {@link Support#onTzReady(Runnable)} to be
+	 * notified. The embedded (base64) TZDB is not used and is not compiled in.
+	 */
+	ASYNC,
+	/**
+	 * Decodes the embedded (base64) TZDB on the first zone access. The default.
+	 */
+	LAZY,
+	/**
+	 * Registers the zone IDs from the embedded index and downloads the region
+	 * chunks (Europe, America, ...) of the {@code gwt.time.tzdb.preload} zones
+	 * (the system default zone by default) in background during
+	 * {@link Support#init()}, use {@link Support#onTzReady(Runnable)} to be
+	 * notified. The chunk of any other zone is downloaded synchronously on the
+	 * first access, which blocks the page, so list a zone of each used region
+	 * in {@code gwt.time.tzdb.preload}.
+	 */
+	CHUNKED,
+	/**
+	 * Builds the rules from the browser time-zone data ({@code Intl}) on the
+	 * first access to a zone, the zone IDs are registered from the embedded
+	 * index. No TZDB data are downloaded or compiled in. The offsets are
+	 * probed weekly from 1970 and bisected around the changes, about 3600
+	 * {@code Intl} calls on the first access of each zone, so the offset
+	 * periods shorter than a week may be missed. The later rules are
+	 * extrapolated after 2037 and the standard offsets are approximated.
+	 */
+	INTL,
+	/**
+	 * No TZDB data are registered or compiled in, the application registers its
+	 * own rules with {@link Support#registerTzProvider(java.time.zone.ZoneRulesProvider)},
+	 * for example the TZif files of the used zones with
+	 * {@link java.time.zone.Providers#ofTzif(String, java.util.Map)}.
+	 */
+	NONE;
+
+	/**
+	 * @param value - the configuration property value, "eager", "async",
+	 *              "lazy", "chunked", "intl" or "none", not null
+	 * @return the strategy, {@link #LAZY} for unknown values
+	 */
+	@Nonnull
+	public static TzdbLoading of(@Nonnull String value) {
+		for (TzdbLoading loading : values()) {
+			if (loading.name().equalsIgnoreCase(value)) {
+				return loading;
+			}
+		}
+		return LAZY;
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import java.time.zone.Providers;
+import java.time.zone.ZoneRulesProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable view of the available zone IDs, sorted, with the prefix and the
+ * case insensitive lookups. The snapshot is rebuilt only when the zone
+ * providers change (registration or refresh), use it instead of
+ * {@link java.time.ZoneId#getAvailableZoneIds()} that copies the IDs on each
+ * call.
+ */
+public final class ZoneIdSnapshot {
+
+	private static ZoneIdSnapshot current;
+
+	private final int revision;
+	private final List<String> ids;
+	private final Set<String> idSet;
+	/**
+	 * The IDs by the lower case ID.
+	 */
+	private final Map<String, String> lowerCaseIds;
+
+	private ZoneIdSnapshot(int revision, Set<String> available) {
+		this.revision = revision;
+		List<String> sorted = new ArrayList<>(available);
+		Collections.sort(sorted);
+		this.ids = Collections.unmodifiableList(sorted);
+		this.idSet = Collections.unmodifiableSet(new HashSet<>(sorted));
+		this.lowerCaseIds = new HashMap<>(sorted.size() * 2);
+		for (String id : sorted) {
+			lowerCaseIds.put(id.toLowerCase(Locale.ENGLISH), id);
+		}
+	}
+
+	/**
+	 * @return the snapshot of the currently registered zone IDs, the same
+	 *         instance until the providers change
+	 */
+	@Nonnull
+	public static ZoneIdSnapshot get() {
+		// the registered IDs come first, the provider initialization changes the revision
+		Set<String> available = ZoneRulesProvider.getAvailableZoneIds();
+		int revision = Providers.getRevision();
+		ZoneIdSnapshot snapshot = current;
+		if (snapshot == null || snapshot.revision != revision) {
+			snapshot = new ZoneIdSnapshot(revision, available);
+			current = snapshot;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return the provider revision of the snapshot
+	 */
+	public int getRevision() {
+		return revision;
+	}
+
+	/**
+	 * @return the zone IDs sorted, unmodifiable
+	 */
+	@Nonnull
+	public List<String> getIds() {
+		return ids;
+	}
+
+	/**
+	 * @return the zone IDs, unmodifiable
+	 */
+	@Nonnull
+	public Set<String> getIdSet() {
+		return idSet;
+	}
+
+	public boolean contains(@Nonnull String zoneId) {
+		return idSet.contains(zoneId);
+	}
+
+	/**
+	 * @param prefix - the prefix, for example "Europe/"
+	 * @return the sorted zone IDs starting with the prefix, a view of
+	 *         {@link #getIds()}
+	 */
+	@Nonnull
+	public List<String> getIdsWithPrefix(@Nonnull String prefix) {
+		int from = Collections.binarySearch(ids, prefix);
+		if (from < 0) {
+			from = -from - 1;
+		}
+		int to = from;
+		while (to < ids.size() && ids.get(to).startsWith(prefix)) {
+			to++;
+		}
+		return ids.subList(from, to);
+	}
+
+	/**
+	 * @param zoneId - the zone ID in any case
+	 * @return the zone ID as registered or null if there is no such zone
+	 */
+	@Nullable
+	public String findIgnoreCase(@Nonnull String zoneId) {
+		return lowerCaseIds.get(zoneId.toLowerCase(Locale.ENGLISH));
+	}
+
+}
@@ -0,0 +1,18 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import javax.annotation.Nonnull;
+
+import org.jresearch.threetenbp.gwt.client.SupportJs;
+
+/**
+ * Reads the offsets from the browser time-zone data
+ * ({@code Intl.DateTimeFormat}).
+ */
+public class IntlZoneOffsetProbe implements ZoneOffsetProbe {
+
+	@Override
+	public double getOffset(@Nonnull String zoneId, double epochSecond) {
+		return SupportJs.zoneOffset(zoneId, epochSecond);
+	}
+
+}
@@ -0,0 +1,49 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.jresearch.threetenbp.gwt.client.SupportJs;
+
+import com.google.gwt.core.client.GWT;
+
+import elemental2.core.ArrayBuffer;
+
+/**
+ * Keeps the TZDB in the browser {@code localStorage}, one entry per module.
+ * Storing a version removes the entries of the other versions. Does nothing if
+ * {@code localStorage} is not available or the quota is exceeded.
+ */
+public class LocalStorageTzdbStore implements TzdbStore {
+
+	private final String prefix;
+
+	public LocalStorageTzdbStore() {
+		this("gwt.time.tzdb." + GWT.getModuleName() + ".");
+	}
+
+	/**
+	 * @param prefix - the key prefix, the version is appended to it
+	 */
+	public LocalStorageTzdbStore(@Nonnull String prefix) {
+		this.prefix = prefix;
+	}
+
+	@Override
+	@Nullable
+	public ArrayBuffer load(@Nonnull String version) {
+		return SupportJs.readStoredBinary(prefix + version);
+	}
+
+	@Override
+	public void store(@Nonnull String version, @Nonnull ArrayBuffer data) {
+		SupportJs.removeStoredBinaries(prefix);
+		SupportJs.storeBinary(prefix + version, data);
+	}
+
+	@Override
+	public void remove(@Nonnull String version) {
+		SupportJs.removeStoredBinaries(prefix + version);
+	}
+
+}
@@ -24,4 +24,8 @@ public interface TimeJsBundle extends ClientBundle {
 	@Source("TZDB.txt")
 	public TextResource tzdbEncoded();
 
+	@Nonnull
+	@Source("TZDB-index.txt")
+	public TextResource tzdbIndex();
+
 }
@@ -0,0 +1,34 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Loads the TZDB region chunks (Europe, America, ...) for
+ * {@code ChunkedTzdbZoneRulesProvider}. Each chunk is a regular TZDB file.
+ */
+public interface TzdbChunkLoader {
+
+	/**
+	 * Synchronous load, used on the first access to a zone of a chunk that is
+	 * not prefetched. Blocks the page until the chunk is loaded.
+	 *
+	 * @param chunk - the chunk name
+	 * @return the chunk data or null if the chunk can't be loaded
+	 */
+	@Nullable
+	ByteBuffer load(@Nonnull String chunk);
+
+	/**
+	 * Asynchronous load, used to prefetch the chunk
+	 *
+	 * @param chunk    - the chunk name
+	 * @param callback - receives the chunk data or null if the chunk can't be
+	 *                 loaded
+	 */
+	void load(@Nonnull String chunk, @Nonnull Consumer<ByteBuffer> callback);
+
+}
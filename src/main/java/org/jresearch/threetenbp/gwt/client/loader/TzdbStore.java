@@ -0,0 +1,36 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import elemental2.core.ArrayBuffer;
+
+/**
+ * Persistent storage of the binary TZDB data between page loads, the data are
+ * keyed by the TZDB version (2020a, ...)
+ */
+public interface TzdbStore {
+
+	/**
+	 * @param version - the TZDB version, not null
+	 * @return the stored data or null if there are no data for this version
+	 */
+	@Nullable
+	ArrayBuffer load(@Nonnull String version);
+
+	/**
+	 * Stores the data, the data of other versions may be discarded
+	 *
+	 * @param version - the TZDB version, not null
+	 * @param data    - the binary TZDB, not null
+	 */
+	void store(@Nonnull String version, @Nonnull ArrayBuffer data);
+
+	/**
+	 * Discards the data of the version, for example if they can't be read
+	 *
+	 * @param version - the TZDB version, not null
+	 */
+	void remove(@Nonnull String version);
+
+}
@@ -0,0 +1,57 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.gwtproject.nio.TypedArrayHelper;
+import org.jresearch.threetenbp.gwt.client.Support;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gwt.core.client.GWT;
+
+import elemental2.core.ArrayBuffer;
+
+/**
+ * Downloads the TZDB chunks from the module static files ({@code tzdb/TZDB-<chunk>.dat})
+ */
+public class XhrTzdbChunkLoader implements TzdbChunkLoader {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(XhrTzdbChunkLoader.class);
+
+	private final String baseUrl;
+
+	public XhrTzdbChunkLoader() {
+		this(GWT.getModuleBaseForStaticFiles() + "tzdb/");
+	}
+
+	/**
+	 * @param baseUrl - the URL of the chunk folder, with the trailing slash
+	 */
+	public XhrTzdbChunkLoader(@Nonnull String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	@Override
+	@Nullable
+	public ByteBuffer load(@Nonnull String chunk) {
+		LOGGER.warn("The TZDB chunk {} is not prefetched, loading it synchronously blocks the page."
+				+ " Add a zone of the chunk to the gwt.time.tzdb.preload property", chunk);
+		ArrayBuffer buffer = Support.loadBinary(url(chunk));
+		return buffer == null ? null : TypedArrayHelper.wrap(buffer);
+	}
+
+	@Override
+	public void load(@Nonnull String chunk, @Nonnull Consumer<ByteBuffer> callback) {
+		Support.loadBinary(url(chunk), buffer -> callback.accept(TypedArrayHelper.wrap(buffer)),
+				() -> callback.accept(null));
+	}
+
+	private String url(String chunk) {
+		return baseUrl + "TZDB-" + chunk + ".dat";
+	}
+
+}
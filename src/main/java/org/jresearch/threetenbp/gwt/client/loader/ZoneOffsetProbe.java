@@ -0,0 +1,20 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reports the wall offset of a zone at an instant for
+ * {@code IntlZoneRulesProvider}, the provider discovers the transitions from
+ * the offsets.
+ */
+public interface ZoneOffsetProbe {
+
+	/**
+	 * @param zoneId      - the zone ID
+	 * @param epochSecond - the instant
+	 * @return the total offset in seconds or {@link Double#NaN} if the zone is
+	 *         unknown or the offsets are not available
+	 */
+	double getOffset(@Nonnull String zoneId, double epochSecond);
+
+}
@@ -0,0 +1,92 @@
+package org.jresearch.threetenbp.gwt.tzdb;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Splits the {@code TZDB.dat} file to the region chunks (Europe, America,
+ * Asia, ...) and the index used by {@code ChunkedTzdbZoneRulesProvider}.
+ * <p>
+ * Each chunk is a regular TZDB file with the regions of the chunk only. The
+ * index is a text file, the first line is the TZDB version, the second line is
+ * {@value #CHUNKS_PREFIX} followed by the comma separated chunk names (the last
+ * chunk has the regions out of the other chunks) and the next lines are the
+ * available region IDs.
+ * <p>
+ * Usage: {@code TzdbChunker <TZDB.dat> <chunk dir> <index file>}
+ */
+public class TzdbChunker {
+
+	/**
+	 * The chunks, the regions out of the chunks are in the "Other" chunk. Written
+	 * to the index for {@code ChunkedTzdbZoneRulesProvider}.
+	 */
+	static final List<String> CHUNKS = Arrays.asList("Africa", "America", "Antarctica", "Asia", "Atlantic",
+			"Australia", "Europe", "Indian", "Pacific");
+	static final String OTHER = "Other";
+	/**
+	 * The prefix of the chunk list line of the index.
+	 */
+	static final String CHUNKS_PREFIX = "#chunks ";
+
+	private TzdbChunker() {
+		// prevent instantiation
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			System.err.println("Usage: TzdbChunker <TZDB.dat> <chunk dir> <index file>");
+			System.exit(1);
+		}
+		TzdbFile tzdb;
+		try (DataInputStream in = new DataInputStream(new FileInputStream(args[0]))) {
+			tzdb = TzdbFile.read(in);
+		}
+		File dir = new File(args[1]);
+		dir.mkdirs();
+		TreeSet<String> chunks = new TreeSet<>(CHUNKS);
+		chunks.add(OTHER);
+		for (String chunk : chunks) {
+			TzdbFile chunkFile = tzdb.filter(region -> chunk.equals(chunkOf(region)));
+			File file = new File(dir, "TZDB-" + chunk + ".dat");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				chunkFile.write(out);
+			}
+			System.out.println(file + ": " + chunkFile.getRegionIds().size() + " regions, " + file.length() + " bytes");
+		}
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(args[2]), StandardCharsets.UTF_8)) {
+			out.write(tzdb.getLatestVersion());
+			out.write('\n');
+			out.write(CHUNKS_PREFIX);
+			out.write(String.join(",", CHUNKS));
+			out.write(',');
+			out.write(OTHER);
+			for (String region : tzdb.getRegionIds()) {
+				out.write('\n');
+				out.write(region);
+			}
+		}
+	}
+
+	/**
+	 * @param regionId - the region ID, not null
+	 * @return the chunk of the region, not null
+	 */
+	static String chunkOf(String regionId) {
+		int index = regionId.indexOf('/');
+		String prefix = index < 0 ? OTHER : regionId.substring(0, index);
+		return CHUNKS.contains(prefix) ? prefix : OTHER;
+	}
+
+}
@@ -0,0 +1,35 @@
+package org.jresearch.threetenbp.gwt.tzdb;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Converts the {@code TZDB.dat} file to the v1 or v2 format and writes the
+ * {@code TZDB.dat} and {@code TZDB.txt} resources.
+ * <p>
+ * Usage: {@code TzdbConverter <TZDB.dat> <output dir> <1|2>}
+ */
+public class TzdbConverter {
+
+	private TzdbConverter() {
+		// prevent instantiation
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			System.err.println("Usage: TzdbConverter <TZDB.dat> <output dir> <1|2>");
+			System.exit(1);
+		}
+		File source = new File(args[0]);
+		TzdbFile tzdb;
+		try (DataInputStream in = new DataInputStream(new FileInputStream(source))) {
+			tzdb = TzdbFile.read(in);
+		}
+		byte[] data = tzdb.withFormat(Integer.parseInt(args[2])).toByteArray();
+		TzdbFile.writeResources(data, new File(args[1]));
+		System.out.println("TZDB.dat: " + source.length() + " -> " + data.length + " bytes");
+	}
+
+}
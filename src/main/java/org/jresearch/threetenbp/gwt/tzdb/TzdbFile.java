@@ -0,0 +1,338 @@
+package org.jresearch.threetenbp.gwt.tzdb;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * In memory model of the {@code TZDB.dat} file (JVM side, build tools only).
+ * <p>
+ * The rules are kept as the v1 serialized bytes, the file can be filtered and
+ * written back in the same format, so the result is loaded by
+ * {@code TzdbZoneRulesProvider} unchanged.
+ * <p>
+ * The v2 file has the offset dictionary (short count, int total seconds)
+ * between the regions and the rules, the rules are in the v2 format, see
+ * {@link TzdbRules}.
+ */
+public class TzdbFile {
+
+	/** The original format */
+	public static final int V1 = 1;
+	/** The compact format with varint transitions and the offset dictionary */
+	public static final int V2 = 2;
+
+	private static final String GROUP_ID = "TZDB";
+
+	private final int format;
+	private final List<String> versions;
+	/** region -> v1 rule bytes for each version, sorted by region */
+	private final List<Map<String, byte[]>> links;
+
+	private TzdbFile(int format, List<String> versions, List<Map<String, byte[]>> links) {
+		this.format = format;
+		this.versions = versions;
+		this.links = links;
+	}
+
+	/**
+	 * Reads the TZDB file.
+	 *
+	 * @param in - the stream to read, not null
+	 * @return the file, not null
+	 * @throws IOException if an error occurs
+	 */
+	public static TzdbFile read(DataInputStream in) throws IOException {
+		int format = in.readByte();
+		if (format != V1 && format != V2) {
+			throw new IOException("File format not recognised");
+		}
+		if (!GROUP_ID.equals(in.readUTF())) {
+			throw new IOException("File format not recognised");
+		}
+		int versionCount = in.readShort();
+		List<String> versions = new ArrayList<>(versionCount);
+		for (int i = 0; i < versionCount; i++) {
+			versions.add(in.readUTF());
+		}
+		int regionCount = in.readShort();
+		String[] regions = new String[regionCount];
+		for (int i = 0; i < regionCount; i++) {
+			regions[i] = in.readUTF();
+		}
+		int[] dictionary = null;
+		if (format == V2) {
+			dictionary = new int[in.readShort()];
+			for (int i = 0; i < dictionary.length; i++) {
+				dictionary[i] = in.readInt();
+			}
+		}
+		int ruleCount = in.readShort();
+		byte[][] rules = new byte[ruleCount][];
+		for (int i = 0; i < ruleCount; i++) {
+			rules[i] = new byte[in.readShort() & 0xffff];
+			in.readFully(rules[i]);
+			if (format == V2) {
+				TzdbRules v2 = TzdbRules.readV2(rules[i], dictionary);
+				if (v2 != null) {
+					rules[i] = v2.toV1();
+				}
+			}
+		}
+		List<Map<String, byte[]>> links = new ArrayList<>(versionCount);
+		for (int i = 0; i < versionCount; i++) {
+			int versionRegionCount = in.readShort();
+			Map<String, byte[]> link = new TreeMap<>();
+			for (int j = 0; j < versionRegionCount; j++) {
+				String region = regions[in.readShort()];
+				link.put(region, rules[in.readShort()]);
+			}
+			links.add(link);
+		}
+		return new TzdbFile(format, versions, links);
+	}
+
+	/**
+	 * Writes the TZDB file in the format of the source file, the same rules are
+	 * written once.
+	 *
+	 * @param out - the stream to write, not null
+	 * @throws IOException if an error occurs
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeByte(format);
+		out.writeUTF(GROUP_ID);
+		out.writeShort(versions.size());
+		for (String version : versions) {
+			out.writeUTF(version);
+		}
+		List<String> regions = new ArrayList<>(getRegionIds());
+		out.writeShort(regions.size());
+		for (String region : regions) {
+			out.writeUTF(region);
+		}
+		List<byte[]> rules = distinctRules();
+		Map<Integer, Integer> dictionary = null;
+		if (format == V2) {
+			dictionary = dictionary(rules);
+			out.writeShort(dictionary.size());
+			for (Integer offset : dictionary.keySet()) {
+				out.writeInt(offset);
+			}
+		}
+		out.writeShort(rules.size());
+		for (byte[] rule : rules) {
+			byte[] data = encode(rule, dictionary);
+			out.writeShort(data.length);
+			out.write(data);
+		}
+		for (Map<String, byte[]> link : links) {
+			out.writeShort(link.size());
+			for (Map.Entry<String, byte[]> entry : link.entrySet()) {
+				out.writeShort(regions.indexOf(entry.getKey()));
+				out.writeShort(indexOf(rules, entry.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * @return the rules of all the versions, the same rules once, not null
+	 */
+	private List<byte[]> distinctRules() {
+		List<byte[]> rules = new ArrayList<>();
+		for (Map<String, byte[]> link : links) {
+			for (byte[] rule : link.values()) {
+				if (indexOf(rules, rule) < 0) {
+					rules.add(rule);
+				}
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * @param rule       - the v1 rule bytes, not null
+	 * @param dictionary - the offset dictionary of the v2 format, null for v1
+	 * @return the rule bytes as written in the file format, not null
+	 */
+	private static byte[] encode(byte[] rule, Map<Integer, Integer> dictionary) {
+		TzdbRules v2 = dictionary != null ? TzdbRules.readV1(rule) : null;
+		return v2 == null ? rule : v2.toV2(dictionary);
+	}
+
+	/**
+	 * @return offset -> index, the most used offsets first
+	 */
+	private static Map<Integer, Integer> dictionary(List<byte[]> rules) {
+		Map<Integer, Integer> counts = new HashMap<>();
+		for (byte[] rule : rules) {
+			TzdbRules rules1 = TzdbRules.readV1(rule);
+			if (rules1 != null) {
+				for (int offset : rules1.getOffsets()) {
+					counts.merge(offset, 1, Integer::sum);
+				}
+			}
+		}
+		List<Integer> offsets = new ArrayList<>(counts.keySet());
+		offsets.sort(Comparator.comparing((Integer offset) -> counts.get(offset)).reversed()
+				.thenComparing(Comparator.naturalOrder()));
+		Map<Integer, Integer> result = new LinkedHashMap<>();
+		for (Integer offset : offsets) {
+			result.put(offset, result.size());
+		}
+		return result;
+	}
+
+	/**
+	 * @param format - {@link #V1} or {@link #V2}
+	 * @return the same file to write in the format, not null
+	 */
+	public TzdbFile withFormat(int format) {
+		if (format != V1 && format != V2) {
+			throw new IllegalArgumentException("Unknown format: " + format);
+		}
+		return new TzdbFile(format, versions, links);
+	}
+
+	/**
+	 * Writes {@code TZDB.dat} and the base64 encoded {@code TZDB.txt}.
+	 *
+	 * @param data - the content of the TZDB file, not null
+	 * @param dir  - the output directory, not null
+	 * @throws IOException if an error occurs
+	 */
+	public static void writeResources(byte[] data, File dir) throws IOException {
+		dir.mkdirs();
+		Files.write(new File(dir, "TZDB.dat").toPath(), data);
+		Files.write(new File(dir, "TZDB.txt").toPath(), Base64.getEncoder().encode(data));
+	}
+
+	/**
+	 * @return the content of the TZDB file, not null
+	 */
+	public byte[] toByteArray() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			write(out);
+		} catch (IOException e) {
+			// can't happen with the memory stream
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static int indexOf(List<byte[]> rules, byte[] rule) {
+		for (int i = 0; i < rules.size(); i++) {
+			if (Arrays.equals(rules.get(i), rule)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param filter - the region filter, not null
+	 * @return the file with the matching regions only, not null
+	 */
+	public TzdbFile filter(Predicate<String> filter) {
+		List<Map<String, byte[]>> filtered = new ArrayList<>(links.size());
+		for (Map<String, byte[]> link : links) {
+			Map<String, byte[]> map = new TreeMap<>();
+			for (Map.Entry<String, byte[]> entry : link.entrySet()) {
+				if (filter.test(entry.getKey())) {
+					map.put(entry.getKey(), entry.getValue());
+				}
+			}
+			filtered.add(map);
+		}
+		return new TzdbFile(format, versions, filtered);
+	}
+
+	/**
+	 * @param mapper - the function to apply to each serialized rules, not null
+	 * @return the file with the mapped rules, not null
+	 */
+	public TzdbFile mapRules(UnaryOperator<byte[]> mapper) {
+		Map<byte[], byte[]> mapped = new IdentityHashMap<>();
+		List<Map<String, byte[]>> result = new ArrayList<>(links.size());
+		for (Map<String, byte[]> link : links) {
+			Map<String, byte[]> map = new TreeMap<>();
+			for (Map.Entry<String, byte[]> entry : link.entrySet()) {
+				map.put(entry.getKey(), mapped.computeIfAbsent(entry.getValue(), mapper));
+			}
+			result.add(map);
+		}
+		return new TzdbFile(format, versions, result);
+	}
+
+	/**
+	 * @return the sorted region IDs of all versions, not null
+	 */
+	public List<String> getRegionIds() {
+		TreeMap<String, String> regions = new TreeMap<>();
+		for (Map<String, byte[]> link : links) {
+			for (String region : link.keySet()) {
+				regions.put(region, region);
+			}
+		}
+		return new ArrayList<>(regions.keySet());
+	}
+
+	/**
+	 * @return the versions, not null
+	 */
+	public List<String> getVersions() {
+		return versions;
+	}
+
+	/**
+	 * @return the latest version, not null
+	 */
+	public String getLatestVersion() {
+		return versions.stream().max(String::compareTo).orElseThrow(IllegalStateException::new);
+	}
+
+	/**
+	 * @return region -> serialized rules of the latest version, sorted by region, not null
+	 */
+	public Map<String, byte[]> getLatestRules() {
+		return new LinkedHashMap<>(links.get(versions.indexOf(getLatestVersion())));
+	}
+
+	/**
+	 * @return region -> size of the rules of the latest version as written in
+	 *         the file format, sorted by region, not null
+	 */
+	public Map<String, Integer> getLatestRuleSizes() {
+		Map<Integer, Integer> dictionary = format == V2 ? dictionary(distinctRules()) : null;
+		Map<String, Integer> sizes = new LinkedHashMap<>();
+		for (Map.Entry<String, byte[]> entry : getLatestRules().entrySet()) {
+			sizes.put(entry.getKey(), encode(entry.getValue(), dictionary).length);
+		}
+		return sizes;
+	}
+
+	/**
+	 * @return {@link #V1} or {@link #V2}
+	 */
+	public int getFormat() {
+		return format;
+	}
+
+}
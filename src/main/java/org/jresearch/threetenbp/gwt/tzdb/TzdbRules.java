@@ -0,0 +1,314 @@
+package org.jresearch.threetenbp.gwt.tzdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Serialized {@code StandardZoneRules} (JVM side, build tools only).
+ * <p>
+ * Reads and writes both formats:
+ * <ul>
+ * <li>v1 - see {@code StandardZoneRules.readExternal}, the transitions are
+ * stored in 3 or 9 bytes, the offsets in 1 or 5 bytes</li>
+ * <li>v2 - see {@code StandardZoneRules.readExternalV2}, the transitions are
+ * stored as varint of the difference with the transition a year before
+ * ({@code t[i - 2] + 365 days}), the offsets as varint index in the offset
+ * dictionary shared by all rules of the file</li>
+ * </ul>
+ * The recurring rules (the tail) are stored the same way in both formats.
+ */
+public class TzdbRules {
+
+	/** Type for StandardZoneRules, see {@code Ser.SZR} */
+	static final byte SZR = 1;
+	/** Seconds in the non-leap year, the v2 transition predictor */
+	static final long YEAR_SECONDS = 365 * 86400L;
+
+	long[] standardTransitions;
+	int[] standardOffsets;
+	long[] savingsTransitions;
+	int[] wallOffsets;
+	byte[] tail;
+
+	private TzdbRules() {
+		// use factory methods
+	}
+
+	/**
+	 * @param rule - the v1 serialized rules, not null
+	 * @return the rules or null if it is not {@code StandardZoneRules}
+	 */
+	public static TzdbRules readV1(byte[] rule) {
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(rule));
+			if (in.readByte() != SZR) {
+				return null;
+			}
+			TzdbRules result = new TzdbRules();
+			int size = in.readInt();
+			result.standardTransitions = readEpochSecs(in, size);
+			result.standardOffsets = readOffsets(in, size + 1);
+			size = in.readInt();
+			result.savingsTransitions = readEpochSecs(in, size);
+			result.wallOffsets = readOffsets(in, size + 1);
+			result.tail = readTail(in);
+			return result;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param rule       - the v2 serialized rules, not null
+	 * @param dictionary - the offset dictionary of the file, not null
+	 * @return the rules or null if it is not {@code StandardZoneRules}
+	 */
+	public static TzdbRules readV2(byte[] rule, int[] dictionary) {
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(rule));
+			if (in.readByte() != SZR) {
+				return null;
+			}
+			TzdbRules result = new TzdbRules();
+			int size = (int) readVarLong(in);
+			result.standardTransitions = readTransitionsV2(in, size);
+			result.standardOffsets = readOffsetsV2(in, size + 1, dictionary);
+			size = (int) readVarLong(in);
+			result.savingsTransitions = readTransitionsV2(in, size);
+			result.wallOffsets = readOffsetsV2(in, size + 1, dictionary);
+			result.tail = readTail(in);
+			return result;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return the v1 serialized rules, not null
+	 */
+	public byte[] toV1() {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(SZR);
+			out.writeInt(standardTransitions.length);
+			for (long trans : standardTransitions) {
+				writeEpochSec(trans, out);
+			}
+			for (int offset : standardOffsets) {
+				writeOffset(offset, out);
+			}
+			out.writeInt(savingsTransitions.length);
+			for (long trans : savingsTransitions) {
+				writeEpochSec(trans, out);
+			}
+			for (int offset : wallOffsets) {
+				writeOffset(offset, out);
+			}
+			out.write(tail);
+			out.flush();
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param dictionary - offset (total seconds) to the index in the dictionary of
+	 *                   the file, not null
+	 * @return the v2 serialized rules, not null
+	 */
+	public byte[] toV2(Map<Integer, Integer> dictionary) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(SZR);
+			writeVarLong(standardTransitions.length, out);
+			writeTransitionsV2(standardTransitions, out);
+			for (int offset : standardOffsets) {
+				writeVarLong(dictionary.get(offset), out);
+			}
+			writeVarLong(savingsTransitions.length, out);
+			writeTransitionsV2(savingsTransitions, out);
+			for (int offset : wallOffsets) {
+				writeVarLong(dictionary.get(offset), out);
+			}
+			out.write(tail);
+			out.flush();
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Removes the transitions out of the range. One transition before the range
+	 * is kept, it defines the offset at the start of the range and keeps the
+	 * recurring rules working.
+	 *
+	 * @param fromEpochSec - the first instant to keep
+	 * @param toEpochSec   - the instant to drop transitions from
+	 */
+	public void trim(long fromEpochSec, long toEpochSec) {
+		int[] range = range(standardTransitions, fromEpochSec, toEpochSec);
+		standardTransitions = Arrays.copyOfRange(standardTransitions, range[0], range[1]);
+		standardOffsets = Arrays.copyOfRange(standardOffsets, range[0], range[1] + 1);
+		range = range(savingsTransitions, fromEpochSec, toEpochSec);
+		savingsTransitions = Arrays.copyOfRange(savingsTransitions, range[0], range[1]);
+		wallOffsets = Arrays.copyOfRange(wallOffsets, range[0], range[1] + 1);
+	}
+
+	private static int[] range(long[] transitions, long fromEpochSec, long toEpochSec) {
+		int first = 0;
+		while (first < transitions.length && transitions[first] < fromEpochSec) {
+			first++;
+		}
+		// keep one transition before the range
+		first = Math.max(0, first - 1);
+		int last = transitions.length;
+		while (last > first + 1 && transitions[last - 1] >= toEpochSec) {
+			last--;
+		}
+		return new int[] { first, last };
+	}
+
+	/**
+	 * @return all the offsets of the rules (total seconds), not null
+	 */
+	public int[] getOffsets() {
+		int[] result = Arrays.copyOf(standardOffsets, standardOffsets.length + wallOffsets.length);
+		System.arraycopy(wallOffsets, 0, result, standardOffsets.length, wallOffsets.length);
+		return result;
+	}
+
+	// -----------------------------------------------------------------------
+	private static byte[] readTail(DataInputStream in) throws IOException {
+		byte[] tail = new byte[in.available()];
+		in.readFully(tail);
+		return tail;
+	}
+
+	private static long[] readEpochSecs(DataInputStream in, int size) throws IOException {
+		long[] result = new long[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = readEpochSec(in);
+		}
+		return result;
+	}
+
+	private static int[] readOffsets(DataInputStream in, int size) throws IOException {
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = readOffset(in);
+		}
+		return result;
+	}
+
+	private static int[] readOffsetsV2(DataInputStream in, int size, int[] dictionary) throws IOException {
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = dictionary[(int) readVarLong(in)];
+		}
+		return result;
+	}
+
+	// mirrors Ser.readDeltaEpochSec and Ser.readTransitionEpochSecs
+	private static long[] readTransitionsV2(DataInputStream in, int size) throws IOException {
+		long[] result = new long[size];
+		for (int i = 0; i < size; i++) {
+			long value = readVarLong(in);
+			long delta = (value & 1) == 0 ? unzigzag(value >>> 1) * 3600 : unzigzag(value >>> 1);
+			result[i] = predict(result, i) + delta;
+		}
+		return result;
+	}
+
+	private static void writeTransitionsV2(long[] transitions, DataOutputStream out) throws IOException {
+		for (int i = 0; i < transitions.length; i++) {
+			long delta = transitions[i] - predict(transitions, i);
+			writeVarLong(delta % 3600 == 0 ? zigzag(delta / 3600) << 1 : zigzag(delta) << 1 | 1, out);
+		}
+	}
+
+	private static long predict(long[] transitions, int index) {
+		if (index >= 2) {
+			return transitions[index - 2] + YEAR_SECONDS;
+		}
+		return index == 1 ? transitions[0] : 0;
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static long readVarLong(DataInputStream in) throws IOException {
+		long result = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readByte() & 0xff;
+			result |= (long) (b & 0x7f) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+
+	static void writeVarLong(long value, DataOutputStream out) throws IOException {
+		while ((value & ~0x7fL) != 0) {
+			out.writeByte((int) (value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	// see Ser.readOffset
+	private static int readOffset(DataInputStream in) throws IOException {
+		int offsetByte = in.readByte();
+		return offsetByte == 127 ? in.readInt() : offsetByte * 900;
+	}
+
+	// see Ser.writeOffset
+	private static void writeOffset(int offsetSecs, DataOutputStream out) throws IOException {
+		int offsetByte = offsetSecs % 900 == 0 ? offsetSecs / 900 : 127; // compress to -72 to +72
+		out.writeByte(offsetByte);
+		if (offsetByte == 127) {
+			out.writeInt(offsetSecs);
+		}
+	}
+
+	// see Ser.readEpochSec
+	private static long readEpochSec(DataInputStream in) throws IOException {
+		int hiByte = in.readByte() & 255;
+		if (hiByte == 255) {
+			return in.readLong();
+		}
+		int midByte = in.readByte() & 255;
+		int loByte = in.readByte() & 255;
+		long tot = ((hiByte << 16) + (midByte << 8) + loByte);
+		return (tot * 900) - 4575744000L;
+	}
+
+	// see Ser.writeEpochSec
+	private static void writeEpochSec(long epochSec, DataOutputStream out) throws IOException {
+		if (epochSec >= -4575744000L && epochSec < 10413792000L && epochSec % 900 == 0) { // quarter hours between 1825 and 2300
+			int store = (int) ((epochSec + 4575744000L) / 900);
+			out.writeByte((store >>> 16) & 255);
+			out.writeByte((store >>> 8) & 255);
+			out.writeByte(store & 255);
+		} else {
+			out.writeByte(255);
+			out.writeLong(epochSec);
+		}
+	}
+
+}
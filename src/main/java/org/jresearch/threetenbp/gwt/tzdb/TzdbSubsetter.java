@@ -0,0 +1,142 @@
+package org.jresearch.threetenbp.gwt.tzdb;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Produces the trimmed {@code TZDB.dat} and {@code TZDB.txt} resources with
+ * the selected zones and the transitions of the selected years only. The
+ * result is loaded by {@code TzdbZoneRulesProvider} unchanged.
+ * <p>
+ * The offsets of the instants out of the year window are not guaranteed: the
+ * offset before the window is the offset of the last transition before the
+ * window, the offset after the window is defined by the last transition in the
+ * window and the recurring rules.
+ * <p>
+ * Usage: {@code TzdbSubsetter <TZDB.dat> <output dir> <zones> [<from year>-<to year>]},
+ * the zones are comma separated zone IDs or regular expressions.
+ */
+public class TzdbSubsetter {
+
+	private final Predicate<String> zoneFilter;
+	private final long fromEpochSec;
+	private final long toEpochSec;
+
+	/**
+	 * @param zones    - zone IDs or regular expressions, not null
+	 * @param fromYear - the first year to keep transitions
+	 * @param toYear   - the last year to keep transitions
+	 */
+	public TzdbSubsetter(List<String> zones, int fromYear, int toYear) {
+		this.zoneFilter = filter(zones);
+		this.fromEpochSec = LocalDate.of(fromYear, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+		this.toEpochSec = LocalDate.of(toYear + 1, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3 || args.length > 4) {
+			System.err.println("Usage: TzdbSubsetter <TZDB.dat> <output dir> <zones> [<from year>-<to year>]");
+			System.exit(1);
+		}
+		TzdbFile tzdb;
+		try (DataInputStream in = new DataInputStream(new FileInputStream(args[0]))) {
+			tzdb = TzdbFile.read(in);
+		}
+		List<String> zones = new ArrayList<>();
+		for (String zone : args[2].split(",")) {
+			if (!zone.trim().isEmpty()) {
+				zones.add(zone.trim());
+			}
+		}
+		int fromYear = -999_999_999;
+		int toYear = 999_999_998;
+		if (args.length == 4) {
+			String[] years = args[3].split("-");
+			fromYear = Integer.parseInt(years[0].trim());
+			toYear = Integer.parseInt(years[1].trim());
+		}
+		TzdbSubsetter subsetter = new TzdbSubsetter(zones, fromYear, toYear);
+		TzdbFile subset = subsetter.subset(tzdb);
+		TzdbFile.writeResources(subset.toByteArray(), new File(args[1]));
+		System.out.print(report(tzdb, subset));
+	}
+
+	/**
+	 * @param tzdb - the full TZDB, not null
+	 * @return the selected zones with trimmed transitions, not null
+	 */
+	public TzdbFile subset(TzdbFile tzdb) {
+		return tzdb.filter(zoneFilter).mapRules(this::trim);
+	}
+
+	/**
+	 * @param tzdb   - the full TZDB, not null
+	 * @param subset - the trimmed TZDB, not null
+	 * @return bytes saved per zone of the latest version and the totals, in the
+	 *         written formats, not null
+	 */
+	public static String report(TzdbFile tzdb, TzdbFile subset) {
+		StringBuilder result = new StringBuilder();
+		Map<String, Integer> subsetSizes = subset.getLatestRuleSizes();
+		long saved = 0;
+		for (Map.Entry<String, Integer> entry : tzdb.getLatestRuleSizes().entrySet()) {
+			int size = entry.getValue();
+			Integer trimmed = subsetSizes.get(entry.getKey());
+			int zoneSaved = trimmed == null ? size : size - trimmed;
+			saved += zoneSaved;
+			result.append(String.format("%-32s %6d -> %6s bytes, saved %6d%n", entry.getKey(), size,
+					trimmed == null ? "-" : String.valueOf(trimmed), zoneSaved));
+		}
+		int size = tzdb.toByteArray().length;
+		int subsetSize = subset.toByteArray().length;
+		result.append(String.format(
+				"Zones: %d -> %d, rules saved %d bytes (v%d -> v%d format, shared rules counted per zone)%n",
+				tzdb.getRegionIds().size(), subset.getRegionIds().size(), saved, tzdb.getFormat(),
+				subset.getFormat()));
+		result.append(String.format("TZDB.dat: %d -> %d bytes, TZDB.txt: %d -> %d bytes%n", size, subsetSize,
+				base64Size(size), base64Size(subsetSize)));
+		return result.toString();
+	}
+
+	private static int base64Size(int size) {
+		return (size + 2) / 3 * 4;
+	}
+
+	private static Predicate<String> filter(List<String> zones) {
+		List<Pattern> patterns = new ArrayList<>();
+		for (String zone : zones) {
+			try {
+				patterns.add(Pattern.compile(zone));
+			} catch (PatternSyntaxException e) {
+				// plain zone ID
+			}
+		}
+		return id -> zones.contains(id) || patterns.stream().anyMatch(p -> p.matcher(id).matches());
+	}
+
+	/**
+	 * Removes the transitions out of the year window.
+	 *
+	 * @param rule - the serialized rules, not null
+	 * @return the serialized trimmed rules, not null
+	 */
+	byte[] trim(byte[] rule) {
+		TzdbRules rules = TzdbRules.readV1(rule);
+		if (rules == null) {
+			return rule;
+		}
+		rules.trim(fromEpochSec, toEpochSec);
+		return rules.toV1();
+	}
+
+}
@@ -5,15 +5,92 @@ if (window.performance.now) {
 }
 
 if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && typeof Intl.DateTimeFormat().resolvedOptions == 'function') {
-	getTimezone = function() { return Intl.DateTimeFormat().resolvedOptions().timeZone; };
+	readTimezone = function() { return Intl.DateTimeFormat().resolvedOptions().timeZone; };
 } else {
-	getTimezone = function() { return new Date().toTimeString().slice(9, 17); };
+	readTimezone = function() { return new Date().toTimeString().slice(9, 17); };
 }
 
+// the zone is read once, then again on refreshTimezone() only
+var cachedTimezone = null;
+
+getTimezone = function() {
+	if (cachedTimezone === null) {
+		cachedTimezone = readTimezone();
+	}
+	return cachedTimezone;
+};
+
+refreshTimezone = function() {
+	const timezone = readTimezone();
+	const changed = cachedTimezone !== null && timezone !== cachedTimezone;
+	cachedTimezone = timezone;
+	return changed;
+};
+
+// the system zone may change while the page is hidden (travel, OS settings)
+if (typeof document == 'object' && typeof document.addEventListener == 'function') {
+	document.addEventListener('visibilitychange', function() {
+		if (document.visibilityState === 'visible') {
+			refreshTimezone();
+		}
+	});
+}
+
+// Intl formatters are expensive to create, the recently used ones are kept by the locale and the options.
+// The limit keeps the time-zone name formatters of all the zones for a locale and a style.
+var formatCache = typeof Map == 'function' ? new Map() : null;
+var formatCacheLimit = 1024;
+var formatCacheHits = 0;
+var formatCacheMisses = 0;
+
+function cachedFormat(kind, locale, options, create) {
+	if (formatCache === null) {
+		formatCacheMisses++;
+		return create();
+	}
+	const key = kind + '|' + locale + '|' + JSON.stringify(options);
+	var format = formatCache.get(key);
+	if (format !== undefined) {
+		formatCacheHits++;
+		// the most recently used last
+		formatCache.delete(key);
+		formatCache.set(key, format);
+		return format;
+	}
+	formatCacheMisses++;
+	// the locale or the options may be invalid, nothing is cached then
+	format = create();
+	if (formatCache.size >= formatCacheLimit) {
+		formatCache.delete(formatCache.keys().next().value);
+	}
+	formatCache.set(key, format);
+	return format;
+}
+
+function cachedDateTimeFormat(locale, options) {
+	return cachedFormat('DateTimeFormat', locale, options, function() { return new Intl.DateTimeFormat(locale, options); });
+}
+
+function cachedNumberFormat(locale, options) {
+	return cachedFormat('NumberFormat', locale, options, function() { return new Intl.NumberFormat(locale, options); });
+}
+
+formatCacheStats = function() {
+	return { hits: formatCacheHits, misses: formatCacheMisses, size: formatCache === null ? 0 : formatCache.size };
+};
+
+clearFormatCache = function() {
+	if (formatCache !== null) {
+		formatCache.clear();
+	}
+	formatCacheHits = 0;
+	formatCacheMisses = 0;
+};
+
 if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && typeof Intl.DateTimeFormat().formatToParts == 'function') {
 	displayTimeZone = function(daylight, timeZone, style, locale) {
 		try {
-			const region = new Intl.DateTimeFormat(locale, { timeZone: timeZone, timeZoneName: style });
+			const region = cachedDateTimeFormat(locale, { timeZone: timeZone, timeZoneName: style });
 			const month = daylight ? 6 : 12;
 			const date = new Date(Date.UTC(2012, month, 20, 6, 0, 0));
 			return region.formatToParts(date).find(checkTimeZone).value;
@@ -32,7 +109,7 @@ if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && type
 	displayMonths = function(style, standalone, locale) {
 		try {
 			var result = [];
-			const region = standalone ? new Intl.DateTimeFormat(locale, { month: style }) : new Intl.DateTimeFormat(locale, { month: style, day: 'numeric' });
+			const region = standalone ? cachedDateTimeFormat(locale, { month: style }) : cachedDateTimeFormat(locale, { month: style, day: 'numeric' });
 			for (i = 0; i < 12; i++) {
 				const date = new Date(Date.UTC(2020, i, 4, 6, 0, 0));
 				result.push(region.formatToParts(date).find(checkMonth).value);
@@ -60,7 +137,7 @@ if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && type
 	displayWeekdays = function(style, standalone, locale) {
 		try {
 			var result = [];
-			const region = standalone ? new Intl.DateTimeFormat(locale, { weekday: style }) : new Intl.DateTimeFormat(locale, { weekday: style, day: 'numeric' });
+			const region = standalone ? cachedDateTimeFormat(locale, { weekday: style }) : cachedDateTimeFormat(locale, { weekday: style, day: 'numeric' });
 			for (i = 1; i <= 7; i++) {
 				const date = new Date(Date.UTC(2020, 5, i, 6, 0, 0));
 				result.push(region.formatToParts(date).find(checkWeekday).value);
@@ -88,7 +165,7 @@ if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && type
 	displayEras = function(style, locale) {
 		try {
 			var result = [];
-			const region = new Intl.DateTimeFormat(locale, { era: style });
+			const region = cachedDateTimeFormat(locale, { era: style });
 			var date = new Date(-99999999999999);
 			result.push(region.formatToParts(date).find(checkEra).value);
 			date = new Date(99999999999999);
@@ -116,7 +193,7 @@ if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && type
 	displayAmpm = function(style, locale) {
 		try {
 			var result = [];
-			const region = new Intl.DateTimeFormat(locale, { dayPeriod: style, hour: 'numeric', hour12: 'false' });
+			const region = cachedDateTimeFormat(locale, { dayPeriod: style, hour: 'numeric', hour12: 'false' });
 			var date = new Date(Date.UTC(2020, 5, 4, 6, 0, 0));
 			result.push(region.formatToParts(date).find(checkAmpm).value);
 			date = new Date(Date.UTC(2020, 5, 4, 16, 0, 0));
@@ -133,11 +210,79 @@ if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && type
 	};
 }
 
+// the texts used if Intl is not available or fails, by the style
+var fallbackSymbols = {
+	months: {
+		narrow: ["J", "F", "M", "A", "M", "J", "J", "A", "S", "O", "N", "D"],
+		short: ["Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"],
+		long: ["January", "February", "March", "April", "May", "June", "July", "August", "September", "October", "November", "December"]
+	},
+	weekdays: {
+		narrow: ["M", "T", "W", "T", "F", "S", "S"],
+		short: ["Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"],
+		long: ["Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"]
+	},
+	eras: {
+		narrow: ["B", "A"],
+		short: ["BC", "AD"],
+		long: ["Before Christ", "Anno Domini"]
+	},
+	ampm: {
+		narrow: ["AM", "PM"],
+		short: ["AM", "PM"],
+		long: ["AM", "PM"]
+	}
+};
+
+if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && typeof Intl.DateTimeFormat().formatToParts == 'function') {
+	// the same dates for all the locales and styles: January to December, Monday to Sunday, BC and AD, AM and PM
+	var symbolDates = null;
+
+	displaySymbols = function(locale) {
+		if (symbolDates === null) {
+			symbolDates = { months: [], weekdays: [], eras: [new Date(-99999999999999), new Date(99999999999999)],
+				ampm: [new Date(Date.UTC(2020, 5, 4, 6, 0, 0)), new Date(Date.UTC(2020, 5, 4, 16, 0, 0))] };
+			for (var i = 0; i < 12; i++) {
+				symbolDates.months.push(new Date(Date.UTC(2020, i, 4, 6, 0, 0)));
+			}
+			for (var i = 1; i <= 7; i++) {
+				symbolDates.weekdays.push(new Date(Date.UTC(2020, 5, i, 6, 0, 0)));
+			}
+		}
+		var result = { months: [], weekdays: [], eras: [], ampm: [] };
+		const styles = ['long', 'short', 'narrow'];
+		for (var i = 0; i < styles.length; i++) {
+			const style = styles[i];
+			// the day selects the format context (the genitive month names in some languages)
+			result.months.push(formatSymbols(createFormat(locale, { month: style, day: 'numeric' }), 'months', 'month', style));
+			result.months.push(formatSymbols(createFormat(locale, { month: style }), 'months', 'month', style));
+			result.weekdays.push(formatSymbols(createFormat(locale, { weekday: style, day: 'numeric' }), 'weekdays', 'weekday', style));
+			result.weekdays.push(formatSymbols(createFormat(locale, { weekday: style }), 'weekdays', 'weekday', style));
+			result.eras.push(formatSymbols(createFormat(locale, { era: style }), 'eras', 'era', style));
+			result.ampm.push(formatSymbols(createFormat(locale, { dayPeriod: style, hour: 'numeric', hour12: 'false' }), 'ampm', 'dayPeriod', style));
+		}
+		return result;
+	};
+} else {
+	displaySymbols = function(locale) {
+		var result = { months: [], weekdays: [], eras: [], ampm: [] };
+		const styles = ['long', 'short', 'narrow'];
+		for (var i = 0; i < styles.length; i++) {
+			const style = styles[i];
+			result.months.push(fallbackSymbols.months[style], fallbackSymbols.months[style]);
+			result.weekdays.push(fallbackSymbols.weekdays[style], fallbackSymbols.weekdays[style]);
+			result.eras.push(fallbackSymbols.eras[style]);
+			result.ampm.push(fallbackSymbols.ampm[style]);
+		}
+		return result;
+	};
+}
+
 if (typeof Intl == 'object' && typeof Intl.NumberFormat == 'function'  && typeof Intl.NumberFormat().formatToParts == 'function') {
 	displayNumber = function(locale) {
 		var result = new Object();
 		try {
-			const numFormat = new Intl.NumberFormat(locale, { signDisplay:'always' });
+			const numFormat = cachedNumberFormat(locale, { signDisplay:'always' });
 			result.zeroDigit = numFormat.formatToParts(0).find(checkZero).value;
 			//FF does not support signDisplay return +
 			var res = numFormat.formatToParts(1).find(checkPlus)
@@ -164,6 +309,169 @@ if (typeof Intl == 'object' && typeof Intl.NumberFormat == 'function'  && typeof
 	};
 }
 
+if (typeof Intl == 'object' && typeof Intl.DateTimeFormat == 'function'  && typeof Intl.DateTimeFormat().formatToParts == 'function') {
+	zoneOffset = function(timeZone, epochSecond) {
+		try {
+			// one formatter a zone, in the bounded cache with the text formatters
+			const format = cachedDateTimeFormat('en-US', { timeZone: timeZone, hourCycle: 'h23', era: 'short', year: 'numeric', month: 'numeric', day: 'numeric', hour: 'numeric', minute: 'numeric', second: 'numeric' });
+			var fields = {};
+			const parts = format.formatToParts(new Date(epochSecond * 1000));
+			for (var i = 0; i < parts.length; i++) {
+				fields[parts[i].type] = parts[i].value;
+			}
+			const year = fields.era.charAt(0) === 'B' ? 1 - fields.year : +fields.year;
+			// setUTCFullYear keeps the years 0-99, Date.UTC does not
+			var local = new Date(0);
+			local.setUTCFullYear(year, fields.month - 1, fields.day);
+			local.setUTCHours(fields.hour % 24, fields.minute, fields.second);
+			return local.getTime() / 1000 - epochSecond;
+		} catch (e) {
+			console.error("Error while call zoneOffset with timeZone %s, epochSecond %s: %s", timeZone, epochSecond, e);
+			return NaN;
+		}
+	};
+} else {
+	zoneOffset = function(timeZone, epochSecond) {
+		return NaN;
+	};
+}
+
+if (typeof atob == 'function' && typeof Uint8Array == 'function') {
+	decodeBase64 = function(input) {
+		const binary = atob(input);
+		const length = binary.length;
+		var result = new Uint8Array(length);
+		for (var i = 0; i < length; i++) {
+			result[i] = binary.charCodeAt(i);
+		}
+		return result.buffer;
+	};
+} else {
+	decodeBase64 = function(input) {
+		return Base64Binary.decodeArrayBuffer(input);
+	};
+}
+
+storeBinary = function(key, buffer) {
+	try {
+		// localStorage keeps strings only, one char per byte
+		const bytes = new Uint8Array(buffer);
+		var parts = [];
+		for (var i = 0; i < bytes.length; i += 8192) {
+			parts.push(String.fromCharCode.apply(null, bytes.subarray(i, i + 8192)));
+		}
+		window.localStorage.setItem(key, parts.join(''));
+		return true;
+	} catch (e) {
+		console.warn("Error while call storeBinary with key %s: %s", key, e);
+		return false;
+	}
+};
+
+readStoredBinary = function(key) {
+	try {
+		const text = window.localStorage.getItem(key);
+		if (text === null) {
+			return null;
+		}
+		var result = new Uint8Array(text.length);
+		for (var i = 0; i < text.length; i++) {
+			result[i] = text.charCodeAt(i);
+		}
+		return result.buffer;
+	} catch (e) {
+		console.warn("Error while call readStoredBinary with key %s: %s", key, e);
+		return null;
+	}
+};
+
+removeStoredBinaries = function(prefix) {
+	try {
+		const storage = window.localStorage;
+		for (var i = storage.length - 1; i >= 0; i--) {
+			const key = storage.key(i);
+			if (key !== null && key.lastIndexOf(prefix, 0) === 0) {
+				storage.removeItem(key);
+			}
+		}
+	} catch (e) {
+		console.warn("Error while call removeStoredBinaries with prefix %s: %s", prefix, e);
+	}
+};
+
+loadBinary = function(url) {
+	try {
+		// blocks the page, used as a fallback only (a TZDB chunk that is not prefetched)
+		// synchronous request can't use arraybuffer response type, read raw bytes from text
+		var request = new XMLHttpRequest();
+		request.open('GET', url, false);
+		request.overrideMimeType('text/plain; charset=x-user-defined');
+		request.send(null);
+		if (request.status !== 200) {
+			console.error("Error while call loadBinary with url %s: status %s", url, request.status);
+			return null;
+		}
+		const text = request.responseText;
+		var result = new Uint8Array(text.length);
+		for (var i = 0; i < text.length; i++) {
+			result[i] = text.charCodeAt(i) & 0xff;
+		}
+		return result.buffer;
+	} catch (e) {
+		console.error("Error while call loadBinary with url %s: %s", url, e);
+		return null;
+	}
+};
+
+streamBinary = function(url, callback) {
+	if (typeof fetch == 'function' && typeof ReadableStream == 'function') {
+		fetch(url).then(function(response) {
+			if (!response.ok || !response.body) {
+				throw new Error("status " + response.status);
+			}
+			// the length of a compressed response is not the length of the data
+			const length = response.headers.get('Content-Encoding') ? 0 : +(response.headers.get('Content-Length') || 0);
+			const reader = response.body.getReader();
+			const next = function() {
+				return reader.read().then(function(result) {
+					if (result.done) {
+						callback(null, length);
+						return;
+					}
+					const chunk = result.value;
+					// usually the chunk is its whole buffer, no copy then
+					const whole = chunk.byteOffset === 0 && chunk.byteLength === chunk.buffer.byteLength;
+					callback(whole ? chunk.buffer : chunk.buffer.slice(chunk.byteOffset, chunk.byteOffset + chunk.byteLength), length);
+					return next();
+				});
+			};
+			return next();
+		}).catch(function(e) {
+			console.error("Error while call streamBinary with url %s: %s", url, e);
+			callback(null, -1);
+		});
+	} else {
+		// no streams, the whole content is one chunk
+		var request = new XMLHttpRequest();
+		request.open('GET', url);
+		request.responseType = 'arraybuffer';
+		request.onload = function() {
+			if (request.status !== 200) {
+				console.error("Error while call streamBinary with url %s: status %s", url, request.status);
+				callback(null, -1);
+				return;
+			}
+			callback(request.response, request.response.byteLength);
+			callback(null, request.response.byteLength);
+		};
+		request.onerror = function() {
+			console.error("Error while call streamBinary with url %s", url);
+			callback(null, -1);
+		};
+		request.send();
+	}
+};
+
 function sleep(milliseconds) {
 	var start = getTimestamp();
 	var current = getTimestamp();
@@ -179,6 +487,32 @@ function displayTimeZoneModern(daylight, timeZone, style, locale) {
 	return region.formatToParts(date).find(checkType).value;
 }
 
+function createFormat(locale, options) {
+	try {
+		return cachedDateTimeFormat(locale, options);
+	} catch (e) {
+		console.error("Error while call displaySymbols with options %o, locale %s: %s", options, locale, e);
+		return null;
+	}
+}
+
+function formatSymbols(format, field, type, style) {
+	if (format === null) {
+		return fallbackSymbols[field][style];
+	}
+	try {
+		const dates = symbolDates[field];
+		var symbols = [];
+		for (var i = 0; i < dates.length; i++) {
+			symbols.push(format.formatToParts(dates[i]).find(function(part) { return part.type === type; }).value);
+		}
+		return symbols;
+	} catch (e) {
+		console.error("Error while call displaySymbols for %s, style %s: %s", field, style, e);
+		return fallbackSymbols[field][style];
+	}
+}
+
 function checkZero(part) {
 	  return part.type === "integer";
 }
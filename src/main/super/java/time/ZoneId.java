@@ -39,6 +39,7 @@ import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalQueries;
 import java.time.temporal.TemporalQuery;
 import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.zone.Providers;
 import java.time.zone.ZoneRules;
 import java.time.zone.ZoneRulesException;
 import java.time.zone.ZoneRulesProvider;
@@ -217,6 +218,14 @@ public abstract class ZoneId implements Serializable {
 	 * Serialization version.
 	 */
 	private static final long serialVersionUID = 8352817235686L;
+	/**
+	 * The last system default zone, the browser zone it was created from and
+	 * the provider revision of its rules.
+	 */
+	//GWT specific
+	private static ZoneId systemDefault;
+	private static String systemDefaultBrowserZone;
+	private static int systemDefaultRevision;
 
 	// -----------------------------------------------------------------------
 	/**
@@ -231,9 +240,20 @@ public abstract class ZoneId implements Serializable {
 	 * @throws ZoneRulesException if the converted zone region ID cannot be found
 	 */
 	public static ZoneId systemDefault() {
-		//GWT specific
+		//GWT specific: the browser zone is cached, see Support.refreshTimezone()
 		String browserZone = Support.getTimezone();
-		return browserZone == null ? ZoneOffset.UTC : ZoneId.of(browserZone);
+		if (browserZone == null) {
+			return ZoneOffset.UTC;
+		}
+		ZoneId zone = systemDefault;
+		if (zone == null || !browserZone.equals(systemDefaultBrowserZone)
+				|| systemDefaultRevision != Providers.getRevision()) {
+			zone = ZoneId.of(browserZone);
+			systemDefault = zone;
+			systemDefaultBrowserZone = browserZone;
+			systemDefaultRevision = Providers.getRevision();
+		}
+		return zone;
 	}
 
 	/**
@@ -32,13 +32,14 @@
 package java.time;
 
 import java.io.Serializable;
+import java.time.zone.Providers;
 import java.time.zone.ZoneRules;
 import java.time.zone.ZoneRulesException;
 import java.time.zone.ZoneRulesProvider;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
-import com.google.gwt.regexp.shared.RegExp;
-
 /**
  * A geographical region where the same time-zone rules apply.
  * <p>
@@ -64,9 +65,16 @@ final class ZoneRegion extends ZoneId implements Serializable {
      */
     private static final long serialVersionUID = 8386373296231747096L;
     /**
-     * The regex pattern for region IDs.
+     * The regions with rules by ID, the same instance is returned for an ID.
      */
-    private static final RegExp PATTERN = RegExp.compile("[A-Za-z][A-Za-z0-9~/._+-]+");
+    //GWT specific
+    private static final Map<String, ZoneRegion> REGIONS = new HashMap<>();
+    /**
+     * The provider revision of {@link #REGIONS}, the regions are dropped when
+     * the providers change.
+     */
+    //GWT specific
+    private static int regionsRevision = -1;
 
     /**
      * The time-zone ID, not null.
@@ -130,7 +138,16 @@ final class ZoneRegion extends ZoneId implements Serializable {
     //GWT specific
     static ZoneRegion ofId(String zoneId, boolean checkAvailable) {
         Objects.requireNonNull(zoneId, "zoneId");
-        if (zoneId.length() < 2 || PATTERN.exec(zoneId) == null) {
+        int revision = Providers.getRevision();
+        if (revision != regionsRevision) {
+            REGIONS.clear();
+            regionsRevision = revision;
+        }
+        ZoneRegion region = REGIONS.get(zoneId);
+        if (region != null) {
+            return region;
+        }
+        if (!isValidId(zoneId)) {
             throw new DateTimeException("Invalid ID for region-based ZoneId, invalid format: " + zoneId);
         }
         ZoneRules rules = null;
@@ -145,7 +162,36 @@ final class ZoneRegion extends ZoneId implements Serializable {
                 throw ex;
             }
         }
-        return new ZoneRegion(zoneId, rules);
+        region = new ZoneRegion(zoneId, rules);
+        if (rules != null) {
+            REGIONS.put(zoneId, region);
+        }
+        return region;
+    }
+
+    /**
+     * Checks the ID matches {@code [A-Za-z][A-Za-z0-9~/._+-]+}.
+     *
+     * @param zoneId  the time-zone ID, not null
+     * @return true if the ID format is valid
+     */
+    //GWT specific
+    private static boolean isValidId(String zoneId) {
+        int length = zoneId.length();
+        if (length < 2 || !isLetter(zoneId.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = zoneId.charAt(i);
+            if (!isLetter(c) && (c < '0' || c > '9') && "~/._+-".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
     }
 
     //-------------------------------------------------------------------------
@@ -62,7 +62,6 @@ import java.time.temporal.TemporalQueries;
 import java.time.temporal.TemporalQuery;
 import java.time.temporal.ValueRange;
 import java.time.temporal.WeekFields;
-import java.time.zone.ZoneRulesProvider;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -79,6 +78,7 @@ import java.util.Set;
 import java.util.TreeMap;
 
 import org.jresearch.threetenbp.gwt.client.Support;
+import org.jresearch.threetenbp.gwt.client.ZoneIdSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -734,6 +734,10 @@ public final class DateTimeFormatterBuilder {
             public Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale) {
                 return store.getTextIterator(style);
             }
+            @Override
+            TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale, boolean caseSensitive) {
+                return store.getTextTrie(style, caseSensitive);
+            }
         };
         appendInternal(new TextPrinterParser(field, TextStyle.FULL, provider));
         return this;
@@ -2872,6 +2876,18 @@ public final class DateTimeFormatterBuilder {
                 throw new IndexOutOfBoundsException();
             }
             TextStyle style = (context.isStrict() ? textStyle : null);
+            // GWT specific: the longest text in one pass
+            TextTrie trie = provider.getTextTrie(field, style, context.getLocale(), context.isCaseSensitive());
+            if (trie != null) {
+                Entry<String, Long> entry = trie.match(parseText, position);
+                if (entry != null) {
+                    return context.setParsedField(field, entry.getValue(), position, position + entry.getKey().length());
+                }
+                if (context.isStrict()) {
+                    return ~position;
+                }
+                return numberPrinterParser().parse(context, parseText, position);
+            }
             Iterator<Entry<String, Long>> it = provider.getTextIterator(field, style, context.getLocale());
             if (it != null) {
                 while (it.hasNext()) {
@@ -3399,7 +3415,8 @@ public final class DateTimeFormatterBuilder {
             // JDK8 has a lot of extra information here
             Map<String, String> ids = new TreeMap<String, String>(LENGTH_COMPARATOR);
 			String style = textStyle.asNormal() == TextStyle.FULL ? "long" : "short";
-            for (String id : ZoneId.getAvailableZoneIds()) {
+            // GWT change: no copy of the IDs
+            for (String id : ZoneIdSnapshot.get().getIds()) {
                 ids.put(id, id);
 				LOGGER.trace("put key {} for ZoneId {}", id, id);
 				// GWT Specific
@@ -3585,14 +3602,16 @@ public final class DateTimeFormatterBuilder {
             }
 
             // prepare parse tree
-            Set<String> regionIds = ZoneRulesProvider.getAvailableZoneIds();
-            final int regionIdsSize = regionIds.size();
+            // GWT change: immutable snapshot, keyed by the provider revision, a refresh may keep the size
+            ZoneIdSnapshot snapshot = ZoneIdSnapshot.get();
+            Set<String> regionIds = snapshot.getIdSet();
+            final int revision = snapshot.getRevision();
             Entry<Integer, SubstringTree> cached = cachedSubstringTree;
-            if (cached == null || cached.getKey() != regionIdsSize) {
+            if (cached == null || cached.getKey() != revision) {
                 synchronized (this) {
                     cached = cachedSubstringTree;
-                    if (cached == null || cached.getKey() != regionIdsSize) {
-                        cachedSubstringTree = cached = new SimpleImmutableEntry<Integer, SubstringTree>(regionIdsSize, prepareParser(regionIds));
+                    if (cached == null || cached.getKey() != revision) {
+                        cachedSubstringTree = cached = new SimpleImmutableEntry<Integer, SubstringTree>(revision, prepareParser(regionIds));
                     }
                 }
             }
@@ -3610,9 +3629,9 @@ public final class DateTimeFormatterBuilder {
                 parsedZoneId = text.subSequence(position, position + nodeLength).toString();
                 tree = tree.get(parsedZoneId, context.isCaseSensitive());
             }
-            ZoneId zone = convertToZone(regionIds, parsedZoneId, context.isCaseSensitive());
+            ZoneId zone = convertToZone(snapshot, parsedZoneId, context.isCaseSensitive());
             if (zone == null) {
-                zone = convertToZone(regionIds, lastZoneId, context.isCaseSensitive());
+                zone = convertToZone(snapshot, lastZoneId, context.isCaseSensitive());
                 if (zone == null) {
                     if (context.charEquals(nextChar, 'Z')) {
                         context.setParsed(ZoneOffset.UTC);
@@ -3626,19 +3645,16 @@ public final class DateTimeFormatterBuilder {
             return position + parsedZoneId.length();
         }
 
-        private ZoneId convertToZone(Set<String> regionIds, String parsedZoneId, boolean caseSensitive) {
+        //GWT specific: the lower case index of the snapshot instead of a scan
+        private ZoneId convertToZone(ZoneIdSnapshot snapshot, String parsedZoneId, boolean caseSensitive) {
             if (parsedZoneId == null) {
                 return null;
             }
             if (caseSensitive) {
-                return (regionIds.contains(parsedZoneId) ? ZoneId.of(parsedZoneId) : null);
+                return (snapshot.contains(parsedZoneId) ? ZoneId.of(parsedZoneId) : null);
             } else {
-                for (String regionId : regionIds) {
-                    if (regionId.equalsIgnoreCase(parsedZoneId)) {
-                        return ZoneId.of(regionId);
-                    }
-                }
-                return null;
+                String regionId = snapshot.findIgnoreCase(parsedZoneId);
+                return (regionId != null ? ZoneId.of(regionId) : null);
             }
         }
 
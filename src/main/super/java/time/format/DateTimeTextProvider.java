@@ -113,6 +113,26 @@ abstract class DateTimeTextProvider {
      */
     public abstract Iterator<Entry<String, Long>> getTextIterator(TemporalField field, TextStyle style, Locale locale);
 
+    //GWT specific
+    /**
+     * Gets the trie of text to field for the specified field, locale and style
+     * for the purpose of parsing.
+     * <p>
+     * The trie finds the longest text in one pass, it matches the texts of
+     * {@link #getTextIterator(TemporalField, TextStyle, Locale)}.
+     * This implementation returns null, the texts are iterated then.
+     *
+     * @param field  the field to get text for, not null
+     * @param style  the style to get text for, null for all parsable text
+     * @param locale  the locale to get text for, not null
+     * @param caseSensitive  whether the trie is case sensitive
+     * @return the trie of text to field pairs, null if not supported
+     *  or if the field or style is not parsable
+     */
+    TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale, boolean caseSensitive) {
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     // use JVM class initializtion to lock the singleton without additional synchronization
     //GWT specific
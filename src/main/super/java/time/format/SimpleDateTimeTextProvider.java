@@ -41,19 +41,17 @@ import java.time.temporal.TemporalField;
 //import java.text.DateFormatSymbols;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
+import org.jresearch.threetenbp.gwt.client.DateTimeSymbols;
 import org.jresearch.threetenbp.gwt.client.Support;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,14 +78,21 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         }
     };
 
-    /** Cache. */
-    private final ConcurrentMap<Entry<TemporalField, Locale>, Object> cache =
-            new ConcurrentHashMap<Entry<TemporalField, Locale>, Object>(16, 0.75f);
+    /**
+     * Cache by the field, then by the locale.
+     * GWT specific: the lookup allocates no key, the locale emulation has no
+     * equals so the locales are compared by identity as before. Not
+     * synchronized, the browser runs the code in a single thread.
+     */
+    private final Map<TemporalField, Map<Locale, Object>> cache =
+            new IdentityHashMap<TemporalField, Map<Locale, Object>>();
 
     //-----------------------------------------------------------------------
     @Override
     public String getText(TemporalField field, long value, TextStyle style, Locale locale) {
-		LOGGER.trace("Return text for field {}, value {}, style {}, locale {}", field, value, style, locale);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Return text for field {}, value {}, style {}, locale {}", field, value, style, locale);
+		}
         Object store = findStore(field, locale);
         if (store instanceof LocaleStore) {
             return ((LocaleStore) store).getText(value, style);
@@ -104,255 +109,80 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
         return null;
     }
 
+    //GWT specific
+    @Override
+    TextTrie getTextTrie(TemporalField field, TextStyle style, Locale locale, boolean caseSensitive) {
+        Object store = findStore(field, locale);
+        if (store instanceof LocaleStore) {
+            return ((LocaleStore) store).getTextTrie(style, caseSensitive);
+        }
+        return null;
+    }
+
     //-----------------------------------------------------------------------
     private Object findStore(TemporalField field, Locale locale) {
-        Entry<TemporalField, Locale> key = createEntry(field, locale);
-        Object store = cache.get(key);
+        Map<Locale, Object> stores = findStores(field);
+        Object store = stores.get(locale);
         if (store == null) {
-            store = createStore(field, locale);
-            cache.putIfAbsent(key, store);
-            store = cache.get(key);
+			// GWT specific: the texts from the browser are created together
+			if (field == MONTH_OF_YEAR || field == DAY_OF_WEEK || field == AMPM_OF_DAY || field == ERA) {
+				createSymbolStores(locale);
+			} else {
+				stores.putIfAbsent(locale, createStore(field, locale));
+			}
+            store = stores.get(locale);
         }
         return store;
     }
 
 	// GWT specific
-    private Object createStore(TemporalField field, Locale locale) {
-        if (field == MONTH_OF_YEAR) {
-            Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long,String>>();
-            Long f1 = 1L;
-            Long f2 = 2L;
-            Long f3 = 3L;
-            Long f4 = 4L;
-            Long f5 = 5L;
-            Long f6 = 6L;
-            Long f7 = 7L;
-            Long f8 = 8L;
-            Long f9 = 9L;
-            Long f10 = 10L;
-            Long f11 = 11L;
-            Long f12 = 12L;
-			String[] array = Support.displayMonths("long", false, locale.toLanguageTag());
-            Map<Long, String> map = new HashMap<Long, String>();
-            map.put(f1, array[Calendar.JANUARY]);
-            map.put(f2, array[Calendar.FEBRUARY]);
-            map.put(f3, array[Calendar.MARCH]);
-            map.put(f4, array[Calendar.APRIL]);
-            map.put(f5, array[Calendar.MAY]);
-            map.put(f6, array[Calendar.JUNE]);
-            map.put(f7, array[Calendar.JULY]);
-            map.put(f8, array[Calendar.AUGUST]);
-            map.put(f9, array[Calendar.SEPTEMBER]);
-            map.put(f10, array[Calendar.OCTOBER]);
-            map.put(f11, array[Calendar.NOVEMBER]);
-            map.put(f12, array[Calendar.DECEMBER]);
-            styleMap.put(TextStyle.FULL, map);
-
-			array = Support.displayMonths("long", true, locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(f1, array[Calendar.JANUARY]);
-			map.put(f2, array[Calendar.FEBRUARY]);
-			map.put(f3, array[Calendar.MARCH]);
-			map.put(f4, array[Calendar.APRIL]);
-			map.put(f5, array[Calendar.MAY]);
-			map.put(f6, array[Calendar.JUNE]);
-			map.put(f7, array[Calendar.JULY]);
-			map.put(f8, array[Calendar.AUGUST]);
-			map.put(f9, array[Calendar.SEPTEMBER]);
-			map.put(f10, array[Calendar.OCTOBER]);
-			map.put(f11, array[Calendar.NOVEMBER]);
-			map.put(f12, array[Calendar.DECEMBER]);
-			styleMap.put(TextStyle.FULL_STANDALONE, map);
-
-			array = Support.displayMonths("short", false, locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(f1, array[Calendar.JANUARY]);
-			map.put(f2, array[Calendar.FEBRUARY]);
-			map.put(f3, array[Calendar.MARCH]);
-			map.put(f4, array[Calendar.APRIL]);
-			map.put(f5, array[Calendar.MAY]);
-			map.put(f6, array[Calendar.JUNE]);
-			map.put(f7, array[Calendar.JULY]);
-			map.put(f8, array[Calendar.AUGUST]);
-			map.put(f9, array[Calendar.SEPTEMBER]);
-			map.put(f10, array[Calendar.OCTOBER]);
-			map.put(f11, array[Calendar.NOVEMBER]);
-			map.put(f12, array[Calendar.DECEMBER]);
-			styleMap.put(TextStyle.SHORT, map);
-
-			array = Support.displayMonths("short", true, locale.toLanguageTag());
-            map = new HashMap<Long, String>();
-			map.put(f1, array[Calendar.JANUARY]);
-			map.put(f2, array[Calendar.FEBRUARY]);
-			map.put(f3, array[Calendar.MARCH]);
-			map.put(f4, array[Calendar.APRIL]);
-			map.put(f5, array[Calendar.MAY]);
-			map.put(f6, array[Calendar.JUNE]);
-			map.put(f7, array[Calendar.JULY]);
-			map.put(f8, array[Calendar.AUGUST]);
-			map.put(f9, array[Calendar.SEPTEMBER]);
-			map.put(f10, array[Calendar.OCTOBER]);
-			map.put(f11, array[Calendar.NOVEMBER]);
-			map.put(f12, array[Calendar.DECEMBER]);
-			styleMap.put(TextStyle.SHORT_STANDALONE, map);
-
-			array = Support.displayMonths("narrow", false, locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(f1, array[Calendar.JANUARY]);
-			map.put(f2, array[Calendar.FEBRUARY]);
-			map.put(f3, array[Calendar.MARCH]);
-			map.put(f4, array[Calendar.APRIL]);
-			map.put(f5, array[Calendar.MAY]);
-			map.put(f6, array[Calendar.JUNE]);
-			map.put(f7, array[Calendar.JULY]);
-			map.put(f8, array[Calendar.AUGUST]);
-			map.put(f9, array[Calendar.SEPTEMBER]);
-			map.put(f10, array[Calendar.OCTOBER]);
-			map.put(f11, array[Calendar.NOVEMBER]);
-			map.put(f12, array[Calendar.DECEMBER]);
-            styleMap.put(TextStyle.NARROW, map);
-
-			array = Support.displayMonths("narrow", true, locale.toLanguageTag());
-            map = new HashMap<Long, String>();
-            map.put(f1, array[Calendar.JANUARY]);
-            map.put(f2, array[Calendar.FEBRUARY]);
-            map.put(f3, array[Calendar.MARCH]);
-            map.put(f4, array[Calendar.APRIL]);
-            map.put(f5, array[Calendar.MAY]);
-            map.put(f6, array[Calendar.JUNE]);
-            map.put(f7, array[Calendar.JULY]);
-            map.put(f8, array[Calendar.AUGUST]);
-            map.put(f9, array[Calendar.SEPTEMBER]);
-            map.put(f10, array[Calendar.OCTOBER]);
-            map.put(f11, array[Calendar.NOVEMBER]);
-            map.put(f12, array[Calendar.DECEMBER]);
-			styleMap.put(TextStyle.NARROW_STANDALONE, map);
-            return createLocaleStore(styleMap);
-        }
-        if (field == DAY_OF_WEEK) {
-            Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long,String>>();
-            Long f1 = 1L;
-            Long f2 = 2L;
-            Long f3 = 3L;
-            Long f4 = 4L;
-            Long f5 = 5L;
-            Long f6 = 6L;
-            Long f7 = 7L;
-
-			String[] array = Support.displayWeekdays("long", false, locale.toLanguageTag());
-			LOGGER.trace("weekdays, long, locale {}, formated {}", locale, array);
-            Map<Long, String> map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-            styleMap.put(TextStyle.FULL, map);
-
-			array = Support.displayWeekdays("long", true, locale.toLanguageTag());
-			LOGGER.trace("weekdays, long, locale {}, standalone {}", locale, array);
-			map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-			styleMap.put(TextStyle.FULL_STANDALONE, map);
-
-			array = Support.displayWeekdays("short", false, locale.toLanguageTag());
-            map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-			styleMap.put(TextStyle.SHORT, map);
-
-			array = Support.displayWeekdays("short", true, locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-			styleMap.put(TextStyle.SHORT_STANDALONE, map);
-
-			array = Support.displayWeekdays("narrow", false, locale.toLanguageTag());
-            map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-			styleMap.put(TextStyle.NARROW, map);
-
-			array = Support.displayWeekdays("narrow", true, locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(f1, array[0]);
-			map.put(f2, array[1]);
-			map.put(f3, array[2]);
-			map.put(f4, array[3]);
-			map.put(f5, array[4]);
-			map.put(f6, array[5]);
-			map.put(f7, array[6]);
-			styleMap.put(TextStyle.NARROW_STANDALONE, map);
-            return createLocaleStore(styleMap);
-        }
-        if (field == AMPM_OF_DAY) {
-            Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long,String>>();
-
-			String[] array = Support.displayAmpm("long", locale.toLanguageTag());
-            Map<Long, String> map = new HashMap<Long, String>();
-            map.put(0L, array[Calendar.AM]);
-            map.put(1L, array[Calendar.PM]);
-            styleMap.put(TextStyle.FULL, map);
-
-			array = Support.displayAmpm("short", locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(0L, array[Calendar.AM]);
-			map.put(1L, array[Calendar.PM]);
-			styleMap.put(TextStyle.SHORT, map);
-
-			array = Support.displayAmpm("narrow", locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(0L, array[Calendar.AM]);
-			map.put(1L, array[Calendar.PM]);
-			styleMap.put(TextStyle.NARROW, map);
-
-            return createLocaleStore(styleMap);
-        }
-        if (field == ERA) {
-            Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long,String>>();
-
-			String[] array = Support.displayEras("long", locale.toLanguageTag());
-            Map<Long, String> map = new HashMap<Long, String>();
-            map.put(0L, array[GregorianCalendar.BC]);
-            map.put(1L, array[GregorianCalendar.AD]);
-			styleMap.put(TextStyle.FULL, map);
+	/**
+	 * @return the stores of the field by the locale, not null
+	 */
+	private Map<Locale, Object> findStores(TemporalField field) {
+		Map<Locale, Object> stores = cache.get(field);
+		if (stores == null) {
+			stores = new IdentityHashMap<Locale, Object>();
+			cache.put(field, stores);
+		}
+		return stores;
+	}
 
-			array = Support.displayEras("short", locale.toLanguageTag());
-			map = new HashMap<Long, String>();
-			map.put(0L, array[GregorianCalendar.BC]);
-			map.put(1L, array[GregorianCalendar.AD]);
-            styleMap.put(TextStyle.SHORT, map);
+	// GWT specific
+	/**
+	 * Creates the month, day-of-week, AM/PM and era stores of the locale from
+	 * one {@link Support#displaySymbols(String)} call.
+	 */
+	private void createSymbolStores(Locale locale) {
+		DateTimeSymbols symbols = Support.displaySymbols(locale.toLanguageTag());
+		findStores(MONTH_OF_YEAR).putIfAbsent(locale,
+				createLocaleStore(createStyleMap(symbols.months, TextStyle.values(), 1)));
+		findStores(DAY_OF_WEEK).putIfAbsent(locale,
+				createLocaleStore(createStyleMap(symbols.weekdays, TextStyle.values(), 1)));
+		TextStyle[] styles = { TextStyle.FULL, TextStyle.SHORT, TextStyle.NARROW };
+		findStores(AMPM_OF_DAY).putIfAbsent(locale, createLocaleStore(createStyleMap(symbols.ampm, styles, 0)));
+		findStores(ERA).putIfAbsent(locale, createLocaleStore(createStyleMap(symbols.eras, styles, 0)));
+	}
+
+	/**
+	 * @param texts  the texts by the style, then by the value
+	 * @param styles the styles of the texts
+	 * @param first  the value of the first text
+	 */
+	private static Map<TextStyle, Map<Long, String>> createStyleMap(String[][] texts, TextStyle[] styles, long first) {
+		Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long, String>>();
+		for (int i = 0; i < styles.length; i++) {
+			Map<Long, String> map = new HashMap<Long, String>();
+			for (int j = 0; j < texts[i].length; j++) {
+				map.put(first + j, texts[i][j]);
+			}
+			styleMap.put(styles[i], map);
+		}
+		return styleMap;
+	}
 
-			array = Support.displayEras("narrow", locale.toLanguageTag());
-            map = new HashMap<Long, String>();
-			map.put(0L, array[GregorianCalendar.BC]);
-			map.put(1L, array[GregorianCalendar.AD]);
-            styleMap.put(TextStyle.NARROW, map);
-            return createLocaleStore(styleMap);
-        }
+	// GWT specific
+    private Object createStore(TemporalField field, Locale locale) {
 		// GWT hard code English quarter text TODO
         if (field == IsoFields.QUARTER_OF_YEAR) {
             Map<TextStyle, Map<Long, String>> styleMap = new HashMap<TextStyle, Map<Long,String>>();
@@ -411,13 +241,37 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
      */
     static final class LocaleStore {
         /**
-         * Map of value to text.
+         * The longest value range stored in the text tables.
+         */
+        //GWT specific
+        private static final int MAX_TABLE_LENGTH = 256;
+        /**
+         * Map of value to text, null if the text is in the tables.
          */
         private final Map<TextStyle, Map<Long, String>> valueTextMap;
+        /**
+         * Tables of text by the style ordinal, then by the value from {@link #first},
+         * null if the values are too sparse.
+         * A style without text has a null table.
+         */
+        //GWT specific
+        private final String[][] texts;
+        /**
+         * The first and the last value of the tables.
+         */
+        //GWT specific
+        private final long first;
+        private final long last;
         /**
          * Parsable data.
          */
         private final Map<TextStyle, List<Entry<String, Long>>> parsable;
+        /**
+         * Parsable data as tries, built on the first parse, by the style (all
+         * parsable text first) and case sensitive second.
+         */
+        //GWT specific
+        private final TextTrie[] tries = new TextTrie[(TextStyle.values().length + 1) * 2];
 
         //-----------------------------------------------------------------------
         /**
@@ -426,7 +280,38 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
          * @param valueTextMap  the map of values to text to store, assigned and not altered, not null
          */
         LocaleStore(Map<TextStyle, Map<Long, String>> valueTextMap) {
-            this.valueTextMap = valueTextMap;
+            // GWT specific: print from the tables if the values are dense
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (Map<Long, String> values : valueTextMap.values()) {
+                for (Long value : values.keySet()) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (min > max) {
+                this.valueTextMap = null;
+                this.texts = new String[TextStyle.values().length][];
+                this.first = 0;
+                this.last = -1;
+            } else if (max - min >= 0 && max - min < MAX_TABLE_LENGTH) {
+                this.valueTextMap = null;
+                this.texts = new String[TextStyle.values().length][];
+                this.first = min;
+                this.last = max;
+                for (Map.Entry<TextStyle, Map<Long, String>> styleEntry : valueTextMap.entrySet()) {
+                    String[] table = new String[(int) (max - min + 1)];
+                    for (Map.Entry<Long, String> entry : styleEntry.getValue().entrySet()) {
+                        table[(int) (entry.getKey() - min)] = entry.getValue();
+                    }
+                    texts[styleEntry.getKey().ordinal()] = table;
+                }
+            } else {
+                this.valueTextMap = valueTextMap;
+                this.texts = null;
+                this.first = 0;
+                this.last = -1;
+            }
             Map<TextStyle, List<Entry<String, Long>>> map = new HashMap<TextStyle, List<Entry<String,Long>>>();
             List<Entry<String, Long>> allList = new ArrayList<Map.Entry<String,Long>>();
             for (TextStyle style : valueTextMap.keySet()) {
@@ -456,6 +341,10 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
          * @return the text for the field value, null if no text found
          */
         String getText(long value, TextStyle style) {
+            if (texts != null) {
+                String[] table = texts[style.ordinal()];
+                return table != null && value >= first && value <= last ? table[(int) (value - first)] : null;
+            }
             Map<Long, String> map = valueTextMap.get(style);
             return map != null ? map.get(value) : null;
         }
@@ -473,6 +362,30 @@ final class SimpleDateTimeTextProvider extends DateTimeTextProvider {
             List<Entry<String, Long>> list = parsable.get(style);
             return list != null ? list.iterator() : null;
         }
+
+        //GWT specific
+        /**
+         * Gets the trie of text to field for the specified style for the purpose of parsing.
+         * <p>
+         * The trie is built once, from the same text as {@link #getTextIterator(TextStyle)}.
+         *
+         * @param style  the style to get text for, null for all parsable text
+         * @param caseSensitive  whether the trie is case sensitive
+         * @return the trie of text to field pairs, null if the style is not parsable
+         */
+        TextTrie getTextTrie(TextStyle style, boolean caseSensitive) {
+            int index = (style != null ? style.ordinal() + 1 : 0) * 2 + (caseSensitive ? 1 : 0);
+            TextTrie trie = tries[index];
+            if (trie == null) {
+                List<Entry<String, Long>> list = parsable.get(style);
+                if (list == null) {
+                    return null;
+                }
+                trie = new TextTrie(list.iterator(), caseSensitive);
+                tries[index] = trie;
+            }
+            return trie;
+        }
     }
 
 }
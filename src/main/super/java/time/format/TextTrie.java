@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2007-present, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package java.time.format;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * A character trie of the parsable text of a field, style and locale.
+ * <p>
+ * The trie finds the longest text at the parse position in one pass over the
+ * parsed characters, instead of comparing each text from
+ * {@link DateTimeTextProvider#getTextIterator} in turn.
+ * The case insensitive trie stores the characters converted to upper case and
+ * then to lower case, matching as {@link DateTimeParseContext#charEqualsIgnoreCase}.
+ *
+ * <h3>Specification for implementors</h3>
+ * This class is immutable and thread-safe once built.
+ */
+//GWT specific
+final class TextTrie {
+
+    /**
+     * Whether the characters are compared case sensitive.
+     */
+    private final boolean caseSensitive;
+    /**
+     * The node of the empty text.
+     */
+    private final Node root = new Node();
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructor.
+     *
+     * @param texts  the text to field pairs, in order from longest text to shortest text, not null
+     * @param caseSensitive  whether the characters are compared case sensitive
+     */
+    TextTrie(Iterator<Entry<String, Long>> texts, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        while (texts.hasNext()) {
+            Entry<String, Long> entry = texts.next();
+            String text = entry.getKey();
+            Node node = root;
+            for (int i = 0; i < text.length(); i++) {
+                node = node.child(key(text.charAt(i)), true);
+            }
+            // the first of the equal texts wins, as when iterating
+            if (node.entry == null) {
+                node.entry = entry;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the longest text matching at the position.
+     *
+     * @param parseText  the text to parse, not null
+     * @param position  the position to match at, valid
+     * @return the matching text to field pair, null if no text matches
+     */
+    Entry<String, Long> match(CharSequence parseText, int position) {
+        Entry<String, Long> longest = root.entry;
+        Node node = root;
+        int length = parseText.length();
+        for (int i = position; i < length; i++) {
+            node = node.child(key(parseText.charAt(i)), false);
+            if (node == null) {
+                break;
+            }
+            if (node.entry != null) {
+                longest = node.entry;
+            }
+        }
+        return longest;
+    }
+
+    private char key(char ch) {
+        return caseSensitive ? ch : Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A node, the children are searched linearly as there are few of them.
+     */
+    private static final class Node {
+        private char[] chars = new char[0];
+        private Node[] children = new Node[0];
+        /**
+         * The text to field pair ending at this node, null if none.
+         */
+        private Entry<String, Long> entry;
+
+        Node child(char ch, boolean create) {
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == ch) {
+                    return children[i];
+                }
+            }
+            if (create == false) {
+                return null;
+            }
+            Node child = new Node();
+            chars = Arrays.copyOf(chars, chars.length + 1);
+            chars[chars.length - 1] = ch;
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+}
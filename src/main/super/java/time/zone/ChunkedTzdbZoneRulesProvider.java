@@ -0,0 +1,212 @@
+package java.time.zone;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jresearch.threetenbp.gwt.client.loader.TzdbChunkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads time-zone rules for 'TZDB' split by regions (Europe, America, ...).
+ * <p>
+ * The available zone IDs are taken from the index. The region chunks are
+ * prefetched in background, a chunk that is not prefetched is loaded
+ * synchronously and decoded on the first access to one of its zones.
+ */
+//GWT Specific
+public final class ChunkedTzdbZoneRulesProvider extends ZoneRulesProvider {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedTzdbZoneRulesProvider.class);
+
+	/**
+	 * The prefix of the index line with the comma separated chunk names, written
+	 * by {@code TzdbChunker}.
+	 */
+	static final String CHUNKS_PREFIX = "#chunks ";
+
+	/**
+	 * The version of the index.
+	 */
+	private final String versionId;
+	/**
+	 * All the regions that are available, sorted.
+	 */
+	private final List<String> regionIds;
+	/**
+	 * The chunks named by the region prefix.
+	 */
+	private final List<String> chunkNames;
+	/**
+	 * The chunk of the regions out of the other chunks.
+	 */
+	private final String otherChunk;
+	private final TzdbChunkLoader loader;
+	/**
+	 * The loaded chunks.
+	 */
+	private final Map<String, TzdbZoneRulesProvider> chunks = new HashMap<>();
+
+	/**
+	 * Creates an instance.
+	 *
+	 * @param index  the index, the first line is the version, the second line
+	 *               is {@value #CHUNKS_PREFIX} followed by the comma separated
+	 *               chunk names (the last chunk has the regions out of the other
+	 *               chunks), the next lines are the region IDs, not null
+	 * @param loader the chunk loader, not null
+	 * @throws ZoneRulesException if the index has no chunk names
+	 */
+	public ChunkedTzdbZoneRulesProvider(String index, TzdbChunkLoader loader) {
+		super();
+		Objects.requireNonNull(index, "index");
+		this.loader = Objects.requireNonNull(loader, "loader");
+		String[] lines = index.split("\n");
+		this.versionId = lines[0].trim();
+		List<String> names = null;
+		List<String> ids = new ArrayList<>(lines.length);
+		for (int i = 1; i < lines.length; i++) {
+			String id = lines[i].trim();
+			if (id.startsWith(CHUNKS_PREFIX)) {
+				names = Arrays.asList(id.substring(CHUNKS_PREFIX.length()).trim().split(","));
+			} else if (!id.isEmpty() && id.charAt(0) != '#') {
+				ids.add(id);
+			}
+		}
+		if (names == null) {
+			throw new ZoneRulesException("No chunk names in the TZDB index, regenerate it with TzdbChunker");
+		}
+		Collections.sort(ids);
+		this.regionIds = ids;
+		this.chunkNames = names.subList(0, names.size() - 1);
+		this.otherChunk = names.get(names.size() - 1);
+	}
+
+	// -----------------------------------------------------------------------
+	@Override
+	protected Set<String> provideZoneIds() {
+		return new HashSet<String>(regionIds);
+	}
+
+	@Override
+	protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+		Objects.requireNonNull(zoneId, "zoneId");
+		return getChunk(zoneId).provideRules(zoneId, forCaching);
+	}
+
+	@Override
+	protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+		return getChunk(zoneId).provideVersions(zoneId);
+	}
+
+	// -----------------------------------------------------------------------
+	/**
+	 * Loads the chunk of the zone in background, if it is not loaded yet.
+	 *
+	 * @param zoneId the zone ID, unknown IDs are ignored, not null
+	 */
+	public void prefetch(String zoneId) {
+		prefetch(Collections.singleton(zoneId), () -> {
+			// nothing
+		});
+	}
+
+	/**
+	 * Loads the chunks of the zones in background, the loaded chunks are
+	 * skipped.
+	 *
+	 * @param zoneIds the zone IDs, unknown IDs are ignored, not null
+	 * @param ready   run once the chunks are loaded or failed to load,
+	 *                immediately if there is nothing to load, not null
+	 */
+	public void prefetch(Collection<String> zoneIds, Runnable ready) {
+		Objects.requireNonNull(ready, "ready");
+		Set<String> pending = new HashSet<>();
+		for (String zoneId : zoneIds) {
+			String chunk = chunkOf(zoneId);
+			if (Collections.binarySearch(regionIds, zoneId) >= 0 && !chunks.containsKey(chunk)) {
+				pending.add(chunk);
+			}
+		}
+		if (pending.isEmpty()) {
+			ready.run();
+			return;
+		}
+		for (String chunk : new ArrayList<>(pending)) {
+			loader.load(chunk, data -> {
+				if (data != null) {
+					try {
+						register(chunk, data);
+					} catch (ZoneRulesException e) {
+						// loaded again on demand
+						LOGGER.error("Can't register the TZDB chunk {}", chunk, e);
+					}
+				}
+				pending.remove(chunk);
+				if (pending.isEmpty()) {
+					ready.run();
+				}
+			});
+		}
+	}
+
+	/**
+	 * @param zoneId the zone ID, not null
+	 * @return true if the chunk of the zone is loaded
+	 */
+	public boolean isLoaded(String zoneId) {
+		return chunks.containsKey(chunkOf(zoneId));
+	}
+
+	private TzdbZoneRulesProvider getChunk(String zoneId) {
+		if (Collections.binarySearch(regionIds, zoneId) < 0) {
+			throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+		}
+		String chunk = chunkOf(zoneId);
+		TzdbZoneRulesProvider provider = chunks.get(chunk);
+		if (provider == null) {
+			ByteBuffer data = loader.load(chunk);
+			if (data == null) {
+				throw new ZoneRulesException("Unable to load TZDB time-zone rules chunk: " + chunk);
+			}
+			provider = register(chunk, data);
+		}
+		return provider;
+	}
+
+	private TzdbZoneRulesProvider register(String chunk, ByteBuffer data) {
+		// the chunk may be loaded synchronously while prefetch is in progress
+		TzdbZoneRulesProvider provider = chunks.get(chunk);
+		if (provider == null) {
+			provider = new TzdbZoneRulesProvider(data);
+			chunks.put(chunk, provider);
+		}
+		return provider;
+	}
+
+	/**
+	 * @param zoneId the zone ID, not null
+	 * @return the chunk name of the zone, not null
+	 */
+	String chunkOf(String zoneId) {
+		int index = zoneId.indexOf('/');
+		String prefix = index < 0 ? otherChunk : zoneId.substring(0, index);
+		return chunkNames.contains(prefix) ? prefix : otherChunk;
+	}
+
+	@Override
+	public String toString() {
+		return "TZDB[" + versionId + "]";
+	}
+
+}
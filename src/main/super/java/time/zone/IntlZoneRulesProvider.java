@@ -0,0 +1,324 @@
+package java.time.zone;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransitionRule.TimeDefinition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jresearch.threetenbp.gwt.client.loader.ZoneOffsetProbe;
+
+/**
+ * Builds the time-zone rules from the offsets reported by a
+ * {@link ZoneOffsetProbe}, usually the browser time-zone data, so no TZDB
+ * data are downloaded.
+ * <p>
+ * The transitions between the first and the last year are discovered by probing
+ * the offset each week and bisecting the weeks where it changes. A zone costs
+ * about 53 probes a year, 3600 for the default years, plus about 20 probes a
+ * transition, once on the first access to the zone. The resolution is one week:
+ * the offset changes within a week that restore the offset of the week start
+ * are missed. The transitions of the last year become the rules of the later
+ * years if they follow a day-of-week pattern, otherwise the last offset is
+ * kept. The offsets before the first year are the offset of the first year
+ * start. The standard offsets are approximated: a period with an offset greater
+ * than the offsets before and after it, shorter than a year, is daylight
+ * savings.
+ */
+//GWT Specific
+public final class IntlZoneRulesProvider extends ZoneRulesProvider {
+
+	/**
+	 * The default first year to discover the transitions for.
+	 */
+	public static final int FIRST_YEAR = 1970;
+	/**
+	 * The default last year to discover the transitions for.
+	 */
+	public static final int LAST_YEAR = 2037;
+	/**
+	 * The probe step, a period with an other offset shorter than the step may
+	 * be missed. A shorter step costs more probes on the first access of each
+	 * zone, a longer one misses more periods.
+	 */
+	private static final int STEP = 7 * 86400;
+	private static final int MAX_DAYLIGHT_SECONDS = 366 * 86400;
+	/**
+	 * The years before the last one produced by the rules of the last year, all
+	 * the day-of-week alignments.
+	 */
+	private static final int CHECKED_YEARS = 7;
+
+	/**
+	 * The version of the index.
+	 */
+	private final String versionId;
+	/**
+	 * All the regions that are available, sorted.
+	 */
+	private final List<String> regionIds;
+	private final ZoneOffsetProbe probe;
+	private final int firstYear;
+	private final int lastYear;
+	/**
+	 * The rules built so far.
+	 */
+	private final Map<String, ZoneRules> rules = new HashMap<>();
+
+	/**
+	 * Creates an instance for the years from {@link #FIRST_YEAR} to
+	 * {@link #LAST_YEAR}.
+	 *
+	 * @param index the index, the first line is the version, the next lines are
+	 *              the region IDs, the lines starting with '#' are skipped, not
+	 *              null
+	 * @param probe the offset source, not null
+	 */
+	public IntlZoneRulesProvider(String index, ZoneOffsetProbe probe) {
+		this(index, probe, FIRST_YEAR, LAST_YEAR);
+	}
+
+	/**
+	 * Creates an instance.
+	 *
+	 * @param index     the index, the first line is the version, the next lines
+	 *                  are the region IDs, the lines starting with '#' are
+	 *                  skipped, not null
+	 * @param probe     the offset source, not null
+	 * @param firstYear the first year to discover the transitions for
+	 * @param lastYear  the last year to discover the transitions for
+	 */
+	public IntlZoneRulesProvider(String index, ZoneOffsetProbe probe, int firstYear, int lastYear) {
+		super();
+		Objects.requireNonNull(index, "index");
+		this.probe = Objects.requireNonNull(probe, "probe");
+		if (firstYear > lastYear) {
+			throw new IllegalArgumentException("The first year is after the last year: " + firstYear + " > " + lastYear);
+		}
+		this.firstYear = firstYear;
+		this.lastYear = lastYear;
+		String[] lines = index.split("\n");
+		this.versionId = lines[0].trim();
+		List<String> ids = new ArrayList<>(lines.length);
+		for (int i = 1; i < lines.length; i++) {
+			String id = lines[i].trim();
+			if (!id.isEmpty() && id.charAt(0) != '#') {
+				ids.add(id);
+			}
+		}
+		Collections.sort(ids);
+		this.regionIds = ids;
+	}
+
+	// -----------------------------------------------------------------------
+	@Override
+	protected Set<String> provideZoneIds() {
+		return new HashSet<String>(regionIds);
+	}
+
+	@Override
+	protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+		Objects.requireNonNull(zoneId, "zoneId");
+		ZoneRules zoneRules = rules.get(zoneId);
+		if (zoneRules == null) {
+			if (Collections.binarySearch(regionIds, zoneId) < 0) {
+				throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+			}
+			zoneRules = createRules(zoneId);
+			rules.put(zoneId, zoneRules);
+		}
+		return zoneRules;
+	}
+
+	@Override
+	protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+		TreeMap<String, ZoneRules> map = new TreeMap<String, ZoneRules>();
+		map.put(versionId, provideRules(zoneId, false));
+		return map;
+	}
+
+	// -----------------------------------------------------------------------
+	private ZoneRules createRules(String zoneId) {
+		double start = LocalDate.of(firstYear, 1, 1).toEpochDay() * 86400d;
+		double end = LocalDate.of(lastYear + 1, 1, 1).toEpochDay() * 86400d;
+		ZoneOffset base = offset(zoneId, start);
+		List<ZoneOffsetTransition> transitions = new ArrayList<>();
+		ZoneOffset before = base;
+		double from = start;
+		while (from < end) {
+			double to = Math.min(from + STEP, end);
+			ZoneOffset after = offset(zoneId, to);
+			while (!after.equals(before)) {
+				double epochSec = bisect(zoneId, from, to, before);
+				ZoneOffset next = offset(zoneId, epochSec);
+				transitions.add(new ZoneOffsetTransition((long) epochSec, before, next));
+				before = next;
+				from = epochSec;
+			}
+			from = to;
+		}
+		List<ZoneOffsetTransitionRule> lastRules = createLastRules(transitions);
+		// standard offsets
+		int count = transitions.size();
+		ZoneOffset[] standards = new ZoneOffset[count + 1];
+		for (int i = 0; i <= count; i++) {
+			ZoneOffset wall = i == 0 ? base : transitions.get(i - 1).getOffsetAfter();
+			standards[i] = wall;
+			if (i > 0 && i < count) {
+				ZoneOffset previous = transitions.get(i - 1).getOffsetBefore();
+				ZoneOffset next = transitions.get(i).getOffsetAfter();
+				if (wall.compareTo(previous) < 0 && wall.compareTo(next) < 0 && transitions.get(i).toEpochSecond()
+						- transitions.get(i - 1).toEpochSecond() < MAX_DAYLIGHT_SECONDS) {
+					// ZoneOffset sorts the greatest offset first
+					standards[i] = previous;
+				}
+			} else if (i == 0 && count > 0) {
+				ZoneOffset next = transitions.get(0).getOffsetAfter();
+				if (wall.compareTo(next) < 0 && transitions.get(0).toEpochSecond() - start < MAX_DAYLIGHT_SECONDS) {
+					standards[i] = next;
+				}
+			} else if (i == count && !lastRules.isEmpty()) {
+				standards[i] = lastRules.get(0).getStandardOffset();
+			}
+		}
+		List<ZoneOffsetTransition> standardTransitions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (!standards[i].equals(standards[i + 1])) {
+				long epochSec = transitions.get(i).toEpochSecond();
+				standardTransitions.add(new ZoneOffsetTransition(epochSec, standards[i], standards[i + 1]));
+			}
+		}
+		return ZoneRules.of(standards[0], base, standardTransitions, transitions, lastRules);
+	}
+
+	/**
+	 * Creates the rules of the years after the last year from the transitions
+	 * of the last year, if the same rules produce the transitions of the
+	 * {@link #CHECKED_YEARS} years before.
+	 *
+	 * @return the rules, empty if the transitions do not follow a pattern
+	 */
+	private List<ZoneOffsetTransitionRule> createLastRules(List<ZoneOffsetTransition> transitions) {
+		List<ZoneOffsetTransition> last = transitionsOf(transitions, lastYear);
+		if (last.size() != 2 || lastYear - CHECKED_YEARS < firstYear) {
+			return Collections.emptyList();
+		}
+		List<List<ZoneOffsetTransition>> expected = new ArrayList<>(CHECKED_YEARS);
+		for (int year = lastYear - CHECKED_YEARS; year < lastYear; year++) {
+			expected.add(transitionsOf(transitions, year));
+		}
+		ZoneOffset standard = last.get(0).getOffsetBefore().compareTo(last.get(0).getOffsetAfter()) > 0
+				? last.get(0).getOffsetBefore()
+				: last.get(0).getOffsetAfter();
+		List<ZoneOffsetTransitionRule> lastRules = new ArrayList<>(2);
+		for (int i = 0; i < 2; i++) {
+			ZoneOffsetTransitionRule rule = createLastRule(last.get(i), standard, expected, i);
+			if (rule == null) {
+				return Collections.emptyList();
+			}
+			lastRules.add(rule);
+		}
+		return lastRules;
+	}
+
+	/**
+	 * Tries the day-of-week patterns matching the transition: the last
+	 * day-of-week of the month or the day-of-week on or after a day, at the
+	 * transition time or at the end of the previous day for the midnight.
+	 *
+	 * @return the first rule producing the expected transitions, null if none
+	 */
+	private ZoneOffsetTransitionRule createLastRule(ZoneOffsetTransition trans, ZoneOffset standard,
+			List<List<ZoneOffsetTransition>> expected, int index) {
+		LocalDateTime local = trans.getDateTimeBefore();
+		ZoneOffsetTransitionRule rule = createLastRule(trans, local.toLocalDate(), false, standard, expected, index);
+		if (rule == null && local.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+			rule = createLastRule(trans, local.toLocalDate().minusDays(1), true, standard, expected, index);
+		}
+		return rule;
+	}
+
+	private ZoneOffsetTransitionRule createLastRule(ZoneOffsetTransition trans, LocalDate date, boolean endOfDay,
+			ZoneOffset standard, List<List<ZoneOffsetTransition>> expected, int index) {
+		Month month = date.getMonth();
+		DayOfWeek dayOfWeek = date.getDayOfWeek();
+		int dayOfMonth = date.getDayOfMonth();
+		LocalTime time = trans.getDateTimeBefore().toLocalTime();
+		for (int dayOfMonthIndicator = -1; dayOfMonthIndicator <= dayOfMonth; dayOfMonthIndicator++) {
+			if (dayOfMonthIndicator == 0) {
+				dayOfMonthIndicator = Math.max(1, dayOfMonth - 6);
+			}
+			ZoneOffsetTransitionRule rule = ZoneOffsetTransitionRule.of(month, dayOfMonthIndicator, dayOfWeek, time,
+					endOfDay, TimeDefinition.WALL, standard, trans.getOffsetBefore(), trans.getOffsetAfter());
+			if (matches(rule, expected, index)) {
+				return rule;
+			}
+		}
+		return null;
+	}
+
+	private boolean matches(ZoneOffsetTransitionRule rule, List<List<ZoneOffsetTransition>> expected, int index) {
+		for (int i = 0; i < expected.size(); i++) {
+			List<ZoneOffsetTransition> year = expected.get(i);
+			if (year.size() != 2 || !year.get(index).equals(rule.createTransition(lastYear - expected.size() + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static List<ZoneOffsetTransition> transitionsOf(List<ZoneOffsetTransition> transitions, int year) {
+		List<ZoneOffsetTransition> result = new ArrayList<>(2);
+		for (ZoneOffsetTransition trans : transitions) {
+			if (trans.getDateTimeBefore().getYear() == year) {
+				result.add(trans);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param from the epoch second with the offset {@code before}
+	 * @param to   the epoch second with an other offset
+	 * @return the first epoch second with an other offset than {@code before}
+	 */
+	private double bisect(String zoneId, double from, double to, ZoneOffset before) {
+		double low = from;
+		double high = to;
+		while (high - low > 1) {
+			double middle = Math.floor((low + high) / 2);
+			if (offset(zoneId, middle).equals(before)) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		return high;
+	}
+
+	private ZoneOffset offset(String zoneId, double epochSecond) {
+		double offset = probe.getOffset(zoneId, epochSecond);
+		if (Double.isNaN(offset)) {
+			throw new ZoneRulesException("No time-zone offsets for the ID: " + zoneId);
+		}
+		return ZoneOffset.ofTotalSeconds((int) offset);
+	}
+
+	@Override
+	public String toString() {
+		return "Intl";
+	}
+
+}
@@ -1,6 +1,10 @@
 package java.time.zone;
 
 import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.jresearch.threetenbp.gwt.client.loader.TzdbChunkLoader;
+import org.jresearch.threetenbp.gwt.client.loader.ZoneOffsetProbe;
 
 public class Providers {
 
@@ -12,4 +16,55 @@ public class Providers {
 		return new TzdbZoneRulesProvider(data);
 	}
 
+	/**
+	 * @param horizonYear the first year to decode the transitions for, the
+	 *                    earlier ones are decoded on demand
+	 */
+	public static ZoneRulesProvider of(ByteBuffer data, int horizonYear) {
+		return new TzdbZoneRulesProvider(data, horizonYear);
+	}
+
+	/**
+	 * Offers newer TZDB data to the provider, loaded by the next
+	 * {@link ZoneRulesProvider#refresh()}.
+	 *
+	 * @return false if the provider does not support the refresh
+	 */
+	public static boolean offer(ZoneRulesProvider provider, ByteBuffer data) {
+		if (provider instanceof TzdbZoneRulesProvider) {
+			((TzdbZoneRulesProvider) provider).offer(data);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the revision of the registered zone IDs and rules, changes on
+	 *         each provider registration and on each successful refresh
+	 */
+	public static int getRevision() {
+		return ZoneRulesProvider.getRevision();
+	}
+
+	public static ChunkedTzdbZoneRulesProvider ofChunks(String index, TzdbChunkLoader loader) {
+		return new ChunkedTzdbZoneRulesProvider(index, loader);
+	}
+
+	/**
+	 * @param index the index, the first line is the version, the next lines are
+	 *              the region IDs
+	 * @param probe the offset source, usually the browser {@code Intl} API
+	 */
+	public static ZoneRulesProvider ofIntl(String index, ZoneOffsetProbe probe) {
+		return new IntlZoneRulesProvider(index, probe);
+	}
+
+	/**
+	 * @param version the tzdata release the files are compiled from
+	 * @param files   the TZif files by the zone ID, parsed on the first access
+	 */
+	public static ZoneRulesProvider ofTzif(String version, Map<String, ByteBuffer> files) {
+		return new TzifZoneRulesProvider(version, files);
+	}
+
 }
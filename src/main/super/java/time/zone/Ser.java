@@ -126,6 +126,41 @@ final class Ser {
         return readInternal(type, in);
     }
 
+    //GWT Specific
+    /**
+     * Reads the object in the compact (v2) format.
+     *
+     * @param in  the data to read, not null
+     * @param offsets  the offset dictionary of the TZDB file, not null
+     * @return the read object, not null
+     * @throws IOException if an error occurs
+     */
+    static Object read(ByteBuffer in, ZoneOffset[] offsets) throws IOException {
+        byte type = in.get();
+        if (type == SZR) {
+            return StandardZoneRules.readExternalV2(in, offsets);
+        }
+        return readInternal(type, in);
+    }
+
+    //GWT Specific
+    /**
+     * Reads the object, the rules keep only the transitions from the cutoff.
+     *
+     * @param in  the data to read, not null
+     * @param offsets  the offset dictionary of the v2 format, null for v1
+     * @param cutoff  the epoch second to keep the transitions from
+     * @return the read object, not null
+     * @throws IOException if an error occurs
+     */
+    static Object read(ByteBuffer in, ZoneOffset[] offsets, long cutoff) throws IOException {
+        byte type = in.get();
+        if (type == SZR) {
+            return StandardZoneRules.readExternal(in, offsets, cutoff);
+        }
+        return readInternal(type, in);
+    }
+
     private static Object readInternal(byte type, ByteBuffer in) throws IOException {
         switch (type) {
             case SZR:
@@ -217,4 +252,118 @@ final class Ser {
         }
     }
 
+    //-----------------------------------------------------------------------
+    //GWT Specific
+    /**
+     * Reads an unsigned varint (7 bits per byte, little endian groups).
+     *
+     * @param in  the input stream, not null
+     * @return the value
+     * @throws IOException if an error occurs
+     */
+    static long readVarLong(ByteBuffer in) throws IOException {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.get() & 0xff;
+            result |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    //GWT Specific
+    /**
+     * Reads a transition in the compact (v2) format.
+     * <p>
+     * Each transition is a varint of the difference with the transition a year
+     * before ({@code t[i - 2] + 365 days}), zigzag encoded, in hours if the
+     * lowest bit is 0 or in seconds if it is 1.
+     *
+     * @param in  the input stream, not null
+     * @param predicted  the predicted epoch second, {@code t[i - 2] + 365 days},
+     *  {@code t[0]} for the second transition, 0 for the first one
+     * @return the epoch second
+     * @throws IOException if an error occurs
+     */
+    static long readDeltaEpochSec(ByteBuffer in, long predicted) throws IOException {
+        long value = readVarLong(in);
+        long zigzag = value >>> 1;
+        long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+        if ((value & 1) == 0) {
+            delta *= 3600;
+        }
+        return predicted + delta;
+    }
+
+    //GWT Specific
+    /**
+     * Reads the transitions in the v1 or compact (v2) format, keeping only the
+     * transitions from the cutoff.
+     * <p>
+     * The transitions are sorted, the ones before the cutoff are decoded to find
+     * it but are not stored, only the kept ones are allocated.
+     *
+     * @param in  the input stream, not null
+     * @param size  the number of transitions
+     * @param offsets  the offset dictionary of the v2 format, null for v1
+     * @param cutoff  the epoch second to keep the transitions from, {@code Long.MIN_VALUE} for all
+     * @param keepLast  true to keep the last transition even if it is before the cutoff
+     * @return the kept epoch seconds, the last {@code length} of the {@code size} transitions, not null
+     * @throws IOException if an error occurs
+     */
+    static long[] readTransitionEpochSecs(ByteBuffer in, int size, ZoneOffset[] offsets, long cutoff,
+            boolean keepLast) throws IOException {
+        long[] result = null;
+        int from = size;
+        long previous = 0;
+        long beforePrevious = 0;
+        for (int i = 0; i < size; i++) {
+            long epochSec;
+            if (offsets == null) {
+                epochSec = readEpochSec(in);
+            } else {
+                epochSec = readDeltaEpochSec(in, i >= 2 ? beforePrevious + 31536000L : previous);
+            }
+            if (result == null && (epochSec >= cutoff || (keepLast && i == size - 1))) {
+                from = i;
+                result = new long[size - i];
+            }
+            if (result != null) {
+                result[i - from] = epochSec;
+            }
+            beforePrevious = previous;
+            previous = epochSec;
+        }
+        return result != null ? result : new long[0];
+    }
+
+    //GWT Specific
+    /**
+     * Reads the offsets in the v1 or compact (v2) format, the first ones are
+     * skipped without creating them.
+     *
+     * @param in  the input stream, not null
+     * @param size  the number of offsets
+     * @param skip  the number of offsets to skip
+     * @param offsets  the offset dictionary of the v2 format, null for v1
+     * @return the offsets after the skipped ones, not null
+     * @throws IOException if an error occurs
+     */
+    static ZoneOffset[] readOffsets(ByteBuffer in, int size, int skip, ZoneOffset[] offsets) throws IOException {
+        for (int i = 0; i < skip; i++) {
+            if (offsets != null) {
+                readVarLong(in);
+            } else if (in.get() == 127) {
+                in.getInt();
+            }
+        }
+        ZoneOffset[] result = new ZoneOffset[size - skip];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = offsets != null ? offsets[(int) readVarLong(in)] : readOffset(in);
+        }
+        return result;
+    }
+
 }
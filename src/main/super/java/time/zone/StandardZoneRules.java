@@ -36,7 +36,6 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.time.ZoneOffset;
@@ -44,8 +43,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * The rules describing how the zone offset varies through the year and historically.
@@ -79,6 +76,17 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
      * The transitions between instants (epoch seconds), sorted.
      */
     private final long[] savingsInstantTransitions;
+    //GWT Specific
+    /**
+     * The {@link #standardTransitions} as JS numbers (exact below 2^53),
+     * searched without the long emulation.
+     */
+    private final double[] standardTransitionSecs;
+    /**
+     * The {@link #savingsInstantTransitions} as JS numbers (exact below 2^53),
+     * searched without the long emulation.
+     */
+    private final double[] savingsInstantTransitionSecs;
     /**
      * The transitions between local date-times, sorted.
      * This is a paired array, where the first entry is the start of the transition
@@ -93,11 +101,71 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
      * The last rule.
      */
     private final ZoneOffsetTransitionRule[] lastRules;
+    //GWT Specific
+    /**
+     * The first year of {@link #lastRulesCache}, the year of the last historic transition.
+     */
+    private final int lastRulesBaseYear;
+    /**
+     * The transitions of recent years, indexed by {@code year - lastRulesBaseYear},
+     * created on demand.
+     */
+    private ZoneOffsetTransition[][] lastRulesCache;
+    /**
+     * The epoch seconds of {@link #lastRulesCache}.
+     */
+    private double[][] lastRulesEpochSecs;
+    //GWT Specific
+    /**
+     * The instants before this epoch second are resolved by the full rules,
+     * {@code Long.MIN_VALUE} if this object holds the full history.
+     */
+    private final double historyEnd;
+    /**
+     * The local date-times before this one are resolved by the full rules.
+     */
+    private final LocalDateTime localHistoryEnd;
+    /**
+     * The undecoded full rules (after the type byte), null if this object holds the full history.
+     */
+    private final ByteBuffer history;
+    /**
+     * The offset dictionary of the undecoded full rules, null for the v1 format.
+     */
+    private final ZoneOffset[] historyOffsets;
+    /**
+     * The full rules, decoded on the first access before {@link #historyEnd}.
+     */
+    private StandardZoneRules full;
+    /**
+     * The start (inclusive) of the window of epoch seconds with the offset
+     * {@link #lastWindowOffset}, the last one found by {@link #getOffset(Instant)}.
+     * Consecutive instants mostly fall in the same window, so the search is skipped.
+     * Plain fields, the JS is single threaded.
+     */
+    private double lastWindowStart;
+    /**
+     * The end (exclusive) of the window of epoch seconds.
+     */
+    private double lastWindowEnd;
+    /**
+     * The offset of the window of epoch seconds.
+     */
+    private ZoneOffset lastWindowOffset;
+    /**
+     * The start (inclusive) of the window of local date-times with the single
+     * valid offset {@link #lastLocalWindowOffset}, the last one found by
+     * {@link #getOffsetInfo(LocalDateTime)}, null if there is no window.
+     */
+    private LocalDateTime lastLocalWindowStart;
+    /**
+     * The end (exclusive) of the window of local date-times.
+     */
+    private LocalDateTime lastLocalWindowEnd;
     /**
-     * The map of recent transitions.
+     * The offset of the window of local date-times.
      */
-    private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache =
-                new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
+    private ZoneOffset lastLocalWindowOffset;
 
     /**
      * Creates an instance.
@@ -153,6 +221,13 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
             throw new IllegalArgumentException("Too many transition rules");
         }
         this.lastRules = lastRules.toArray(new ZoneOffsetTransitionRule[lastRules.size()]);
+        this.standardTransitionSecs = toSecs(standardTransitions);
+        this.savingsInstantTransitionSecs = toSecs(savingsInstantTransitions);
+        this.lastRulesBaseYear = lastRulesBaseYear(savingsInstantTransitions, wallOffsets);
+        this.historyEnd = Double.NEGATIVE_INFINITY;
+        this.localHistoryEnd = null;
+        this.history = null;
+        this.historyOffsets = null;
     }
 
     /**
@@ -171,6 +246,33 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
             long[] savingsInstantTransitions,
             ZoneOffset[] wallOffsets,
             ZoneOffsetTransitionRule[] lastRules) {
+        this(standardTransitions, standardOffsets, savingsInstantTransitions, wallOffsets, lastRules,
+                Long.MIN_VALUE, null, null);
+    }
+
+    //GWT Specific
+    /**
+     * Constructor of the rules holding only the transitions from {@code historyEnd},
+     * the earlier ones are decoded from {@code history} on demand.
+     *
+     * @param standardTransitions  the standard transitions, not null
+     * @param standardOffsets  the standard offsets, not null
+     * @param savingsInstantTransitions  the standard transitions, not null
+     * @param wallOffsets  the wall offsets, not null
+     * @param lastRules  the recurring last rules, size 15 or less, not null
+     * @param historyEnd  the epoch second the transitions are kept from
+     * @param history  the undecoded full rules, null if the transitions are complete
+     * @param historyOffsets  the offset dictionary of the v2 format, null for v1
+     */
+    private StandardZoneRules(
+            long[] standardTransitions,
+            ZoneOffset[] standardOffsets,
+            long[] savingsInstantTransitions,
+            ZoneOffset[] wallOffsets,
+            ZoneOffsetTransitionRule[] lastRules,
+            long historyEnd,
+            ByteBuffer history,
+            ZoneOffset[] historyOffsets) {
         super();
 
         this.standardTransitions = standardTransitions;
@@ -178,6 +280,15 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         this.savingsInstantTransitions = savingsInstantTransitions;
         this.wallOffsets = wallOffsets;
         this.lastRules = lastRules;
+        this.standardTransitionSecs = toSecs(standardTransitions);
+        this.savingsInstantTransitionSecs = toSecs(savingsInstantTransitions);
+        this.lastRulesBaseYear = lastRulesBaseYear(savingsInstantTransitions, wallOffsets);
+        this.history = history;
+        this.historyOffsets = historyOffsets;
+        this.historyEnd = history == null ? Double.NEGATIVE_INFINITY : historyEnd;
+        // the local date-times of the dropped transitions are before historyEnd + max offset
+        this.localHistoryEnd = history == null ? null :
+            LocalDateTime.ofEpochSecond(historyEnd + ZoneOffset.MAX.getTotalSeconds(), 0, ZoneOffset.UTC);
 
         // convert savings transitions to locals
         List<LocalDateTime> localTransitionList = new ArrayList<LocalDateTime>();
@@ -267,6 +378,105 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
     }
 
+    //GWT Specific
+    /**
+     * Reads the state from the stream in the compact (v2) format.
+     *
+     * @param in  the input stream, not null
+     * @param offsets  the offset dictionary of the TZDB file, not null
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readExternalV2(ByteBuffer in, ZoneOffset[] offsets) throws IOException {
+        return readExternal(in, offsets, Long.MIN_VALUE);
+    }
+
+    //GWT Specific
+    /**
+     * Reads the state from the stream keeping only the transitions from the cutoff.
+     * <p>
+     * The earlier transitions are skipped without creating the offsets and the
+     * local date-times, the full rules are decoded again from the stream if
+     * an earlier instant or local date-time is queried.
+     *
+     * @param in  the input stream, not null
+     * @param offsets  the offset dictionary of the v2 format, null for v1
+     * @param cutoff  the epoch second to keep the transitions from, {@code Long.MIN_VALUE} for all
+     * @return the created object, not null
+     * @throws IOException if an error occurs
+     */
+    static StandardZoneRules readExternal(ByteBuffer in, ZoneOffset[] offsets, long cutoff) throws IOException {
+        ByteBuffer history = in.slice();
+        int stdSize = offsets == null ? in.getInt() : (int) Ser.readVarLong(in);
+        long[] stdTrans = Ser.readTransitionEpochSecs(in, stdSize, offsets, cutoff, false);
+        int stdFrom = stdSize - stdTrans.length;
+        ZoneOffset[] stdOffsets = Ser.readOffsets(in, stdSize + 1, stdFrom, offsets);
+        int savSize = offsets == null ? in.getInt() : (int) Ser.readVarLong(in);
+        // keep at least the last transition, the last rules start from it
+        long[] savTrans = Ser.readTransitionEpochSecs(in, savSize, offsets, cutoff, true);
+        int savFrom = savSize - savTrans.length;
+        ZoneOffset[] savOffsets = Ser.readOffsets(in, savSize + 1, savFrom, offsets);
+        byte ruleSize = in.get();
+        ZoneOffsetTransitionRule[] rules = new ZoneOffsetTransitionRule[ruleSize];
+        for (int i = 0; i < ruleSize; i++) {
+            rules[i] = ZoneOffsetTransitionRule.readExternal(in);
+        }
+        if (stdFrom == 0 && savFrom == 0) {
+            return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules);
+        }
+        return new StandardZoneRules(stdTrans, stdOffsets, savTrans, savOffsets, rules, cutoff, history, offsets);
+    }
+
+    private static double[] toSecs(long[] transitions) {
+        double[] secs = new double[transitions.length];
+        for (int i = 0; i < transitions.length; i++) {
+            secs[i] = transitions[i];
+        }
+        return secs;
+    }
+
+    /**
+     * @return the year of the last historic transition, the last rules are not used before it
+     */
+    private static int lastRulesBaseYear(long[] savingsInstantTransitions, ZoneOffset[] wallOffsets) {
+        int size = savingsInstantTransitions.length;
+        return size == 0 ? LAST_CACHED_YEAR : findYear(savingsInstantTransitions[size - 1], wallOffsets[size]);
+    }
+
+    //GWT Specific
+    /**
+     * @return the rules with the complete history, decoded on the first call
+     */
+    private StandardZoneRules full() {
+        if (history == null) {
+            return this;
+        }
+        if (full == null) {
+            try {
+                full = readExternal(history.duplicate(), historyOffsets, Long.MIN_VALUE);
+            } catch (IOException ex) {
+                throw new ZoneRulesException("Invalid binary time-zone data", ex);
+            }
+        }
+        return full;
+    }
+
+    //GWT Specific
+    /**
+     * Drops the caches, the rules are replaced by a newer TZDB version.
+     */
+    void clearCaches() {
+        lastRulesCache = null;
+        lastRulesEpochSecs = null;
+        lastWindowStart = 0;
+        lastWindowEnd = 0;
+        lastWindowOffset = null;
+        lastLocalWindowStart = null;
+        lastLocalWindowEnd = null;
+        lastLocalWindowOffset = null;
+        full = null;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public boolean isFixedOffset() {
@@ -276,30 +486,67 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
+        // GWT specific: compare JS numbers, not the emulated longs
+        double epochSec = instant.getEpochSecond();
+        // GWT specific: same window as the last call
+        if (epochSec >= lastWindowStart && epochSec < lastWindowEnd) {
+            return lastWindowOffset;
+        }
+        if (epochSec < historyEnd) {
+            return full().getOffset(instant);
+        }
 
         // check if using last rules
-        if (lastRules.length > 0 &&
-                epochSec > savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
-            int year = findYear(epochSec, wallOffsets[wallOffsets.length - 1]);
-            ZoneOffsetTransition[] transArray = findTransitionArray(year);
-            ZoneOffsetTransition trans = null;
-            for (int i = 0; i < transArray.length; i++) {
-                trans = transArray[i];
-                if (epochSec < trans.toEpochSecond()) {
-                    return trans.getOffsetBefore();
+        int last = savingsInstantTransitionSecs.length - 1;
+        if (lastRules.length > 0 && epochSec > savingsInstantTransitionSecs[last]) {
+            ZoneOffset lastHistoricOffset = wallOffsets[wallOffsets.length - 1];
+            int year = findYear(epochSec, lastHistoricOffset);
+            double[] transEpochSecs = findTransitionEpochSecs(year);
+            // the window does not leave the year and starts after the last historic transition
+            double yearStart = Math.max(yearStartEpochDay(year) * 86400 - lastHistoricOffset.getTotalSeconds(),
+                    savingsInstantTransitionSecs[last] + 1);
+            double yearEnd = yearStartEpochDay(year + 1) * 86400 - lastHistoricOffset.getTotalSeconds();
+            for (int i = 0; i < transEpochSecs.length; i++) {
+                if (epochSec < transEpochSecs[i]) {
+                    double start = i == 0 ? yearStart : Math.max(yearStart, transEpochSecs[i - 1]);
+                    return window(start, Math.min(yearEnd, transEpochSecs[i]), lastRules[i].getOffsetBefore());
                 }
             }
-            return trans.getOffsetAfter();
+            return window(Math.max(yearStart, transEpochSecs[transEpochSecs.length - 1]), yearEnd,
+                    lastRules[lastRules.length - 1].getOffsetAfter());
         }
 
         // using historic rules
-        int index  = Arrays.binarySearch(savingsInstantTransitions, epochSec);
+        int index  = Arrays.binarySearch(savingsInstantTransitionSecs, epochSec);
         if (index < 0) {
             // switch negative insert position to start of matched range
             index = -index - 2;
         }
-        return wallOffsets[index + 1];
+        double start = index < 0 ? historyEnd : savingsInstantTransitionSecs[index];
+        double end;
+        if (index < last) {
+            end = savingsInstantTransitionSecs[index + 1];
+        } else {
+            // the last rules start after the last historic transition
+            end = lastRules.length == 0 ? Double.POSITIVE_INFINITY : savingsInstantTransitionSecs[last] + 1;
+        }
+        return window(start, end, wallOffsets[index + 1]);
+    }
+
+    //GWT Specific
+    /**
+     * Remembers the window of epoch seconds with the same offset.
+     *
+     * @param start  the start epoch second, inclusive
+     * @param end  the end epoch second, exclusive
+     * @param offset  the offset of the window, not null
+     * @return the offset, not null
+     */
+    private ZoneOffset window(double start, double end, ZoneOffset offset) {
+        lastWindowStart = start;
+        lastWindowEnd = end;
+        lastWindowOffset = offset;
+        return offset;
     }
 
     //-----------------------------------------------------------------------
@@ -329,16 +576,33 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
     }
 
     private Object getOffsetInfo(LocalDateTime dt) {
+        // GWT specific: same window as the last call
+        if (lastLocalWindowStart != null && !dt.isBefore(lastLocalWindowStart) && dt.isBefore(lastLocalWindowEnd)) {
+            return lastLocalWindowOffset;
+        }
+        if (localHistoryEnd != null && dt.isBefore(localHistoryEnd)) {
+            return full().getOffsetInfo(dt);
+        }
         // check if using last rules
         if (lastRules.length > 0 &&
                 dt.isAfter(savingsLocalTransitions[savingsLocalTransitions.length - 1])) {
+            LocalDateTime lastLocal = savingsLocalTransitions[savingsLocalTransitions.length - 1];
             ZoneOffsetTransition[] transArray = findTransitionArray(dt.getYear());
             Object info = null;
+            // GWT specific: the end of the gap or overlap of the previous transition
+            LocalDateTime start = null;
             for (ZoneOffsetTransition trans : transArray) {
                 info = findOffsetInfo(dt, trans);
                 if (info instanceof ZoneOffsetTransition || info.equals(trans.getOffsetBefore())) {
+                    if (info instanceof ZoneOffset) {
+                        localWindow(start, dt.getYear(), lastLocal, firstLocal(trans), (ZoneOffset) info);
+                    }
                     return info;
                 }
+                start = lastLocal(trans);
+            }
+            if (info instanceof ZoneOffset) {
+                localWindow(start, dt.getYear(), lastLocal, null, (ZoneOffset) info);
             }
             return info;
         }
@@ -347,7 +611,9 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         int index  = Arrays.binarySearch(savingsLocalTransitions, dt);
         if (index == -1) {
             // before first transition
-            return wallOffsets[0];
+            return localWindow(localHistoryEnd == null ? LocalDateTime.MIN : localHistoryEnd,
+                    savingsLocalTransitions.length == 0 ? LocalDateTime.MAX : savingsLocalTransitions[0],
+                    wallOffsets[0]);
         }
         if (index < 0) {
             // switch negative insert position to start of matched range
@@ -372,10 +638,76 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
             }
         } else {
             // normal (neither gap or overlap)
+            // GWT specific: the window up to the next transition
+            LocalDateTime start = savingsLocalTransitions[index];
+            if (localHistoryEnd != null && start.isBefore(localHistoryEnd)) {
+                start = localHistoryEnd;
+            }
+            if (index < savingsLocalTransitions.length - 1) {
+                return localWindow(start, savingsLocalTransitions[index + 1], wallOffsets[index / 2 + 1]);
+            }
+            if (lastRules.length == 0) {
+                return localWindow(start, LocalDateTime.MAX, wallOffsets[index / 2 + 1]);
+            }
             return wallOffsets[index / 2 + 1];
         }
     }
 
+    //GWT Specific
+    /**
+     * Remembers the window of local date-times with the single valid offset.
+     *
+     * @param start  the start local date-time, inclusive, not null
+     * @param end  the end local date-time, exclusive, not null
+     * @param offset  the offset of the window, not null
+     * @return the offset, not null
+     */
+    private ZoneOffset localWindow(LocalDateTime start, LocalDateTime end, ZoneOffset offset) {
+        lastLocalWindowStart = start;
+        lastLocalWindowEnd = end;
+        lastLocalWindowOffset = offset;
+        return offset;
+    }
+
+    //GWT Specific
+    /**
+     * Remembers the window of local date-times of the last rules, the window
+     * does not leave the year and starts after the last historic transition.
+     *
+     * @param start  the end of the previous transition, null for the start of the year
+     * @param year  the year
+     * @param lastLocal  the last historic local transition, not null
+     * @param end  the start of the next transition, null for the end of the year
+     * @param offset  the offset of the window, not null
+     */
+    private void localWindow(LocalDateTime start, int year, LocalDateTime lastLocal, LocalDateTime end,
+            ZoneOffset offset) {
+        if (start == null) {
+            start = LocalDateTime.of(year, 1, 1, 0, 0);
+        }
+        if (!start.isAfter(lastLocal)) {
+            start = lastLocal.plusNanos(1);
+        }
+        if (end == null) {
+            end = year < Year.MAX_VALUE ? LocalDateTime.of(year + 1, 1, 1, 0, 0) : LocalDateTime.MAX;
+        }
+        localWindow(start, end, offset);
+    }
+
+    /**
+     * @return the start of the gap or overlap of the transition
+     */
+    private static LocalDateTime firstLocal(ZoneOffsetTransition trans) {
+        return trans.isGap() ? trans.getDateTimeBefore() : trans.getDateTimeAfter();
+    }
+
+    /**
+     * @return the end of the gap or overlap of the transition
+     */
+    private static LocalDateTime lastLocal(ZoneOffsetTransition trans) {
+        return trans.isGap() ? trans.getDateTimeAfter() : trans.getDateTimeBefore();
+    }
+
     /**
      * Finds the offset info for a local date-time and transition.
      *
@@ -418,28 +750,81 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
      * @param year  the year, not null
      * @return the transition array, not null
      */
+    //GWT Specific
     private ZoneOffsetTransition[] findTransitionArray(int year) {
-        Integer yearObj = year;  // should use Year class, but this saves a class load
-        ZoneOffsetTransition[] transArray = lastRulesCache.get(yearObj);
-        if (transArray != null) {
-            return transArray;
+        int index = cacheIndex(year);
+        if (index < 0) {
+            return createTransitionArray(year);
+        }
+        ZoneOffsetTransition[] transArray = lastRulesCache[index];
+        if (transArray == null) {
+            transArray = createTransitionArray(year);
+            lastRulesCache[index] = transArray;
+            lastRulesEpochSecs[index] = toEpochSecs(transArray);
+        }
+        return transArray;
+    }
+
+    //GWT Specific
+    /**
+     * Finds the epoch seconds of the transitions of the last rules for the given year.
+     *
+     * @param year  the year, not null
+     * @return the epoch seconds, in the order of the last rules, not null
+     */
+    private double[] findTransitionEpochSecs(int year) {
+        int index = cacheIndex(year);
+        if (index < 0) {
+            return toEpochSecs(createTransitionArray(year));
+        }
+        double[] transEpochSecs = lastRulesEpochSecs[index];
+        if (transEpochSecs == null) {
+            findTransitionArray(year);
+            transEpochSecs = lastRulesEpochSecs[index];
+        }
+        return transEpochSecs;
+    }
+
+    /**
+     * @return the index of the year in the cache (created on the first call), -1 if the year is not cached
+     */
+    private int cacheIndex(int year) {
+        if (year < lastRulesBaseYear || year >= LAST_CACHED_YEAR) {
+            return -1;
+        }
+        if (lastRulesCache == null) {
+            lastRulesCache = new ZoneOffsetTransition[LAST_CACHED_YEAR - lastRulesBaseYear][];
+            lastRulesEpochSecs = new double[LAST_CACHED_YEAR - lastRulesBaseYear][];
         }
+        return year - lastRulesBaseYear;
+    }
+
+    private ZoneOffsetTransition[] createTransitionArray(int year) {
         ZoneOffsetTransitionRule[] ruleArray = lastRules;
-        transArray  = new ZoneOffsetTransition[ruleArray.length];
+        ZoneOffsetTransition[] transArray  = new ZoneOffsetTransition[ruleArray.length];
         for (int i = 0; i < ruleArray.length; i++) {
             transArray[i] = ruleArray[i].createTransition(year);
         }
-        if (year < LAST_CACHED_YEAR) {
-            lastRulesCache.putIfAbsent(yearObj, transArray);
-        }
         return transArray;
     }
 
+    private static double[] toEpochSecs(ZoneOffsetTransition[] transArray) {
+        double[] transEpochSecs = new double[transArray.length];
+        for (int i = 0; i < transArray.length; i++) {
+            transEpochSecs[i] = transArray[i].toEpochSecond();
+        }
+        return transEpochSecs;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     public ZoneOffset getStandardOffset(Instant instant) {
-        long epochSec = instant.getEpochSecond();
-        int index  = Arrays.binarySearch(standardTransitions, epochSec);
+        // GWT specific: compare JS numbers, not the emulated longs
+        double epochSec = instant.getEpochSecond();
+        if (epochSec < historyEnd) {
+            return full().getStandardOffset(instant);
+        }
+        int index  = Arrays.binarySearch(standardTransitionSecs, epochSec);
         if (index < 0) {
             // switch negative insert position to start of matched range
             index = -index - 2;
@@ -467,6 +852,9 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         }
 
         long epochSec = instant.getEpochSecond();
+        if (epochSec < historyEnd) {
+            return full().nextTransition(instant);
+        }
 
         // check if using last rules
         if (epochSec >= savingsInstantTransitions[savingsInstantTransitions.length - 1]) {
@@ -509,6 +897,9 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         if (instant.getNano() > 0 && epochSec < Long.MAX_VALUE) {
             epochSec += 1;  // allow rest of method to only use seconds
         }
+        if (history != null && epochSec <= savingsInstantTransitions[0]) {
+            return full().previousTransition(instant);
+        }
 
         // check if using last rules
         long lastHistoric = savingsInstantTransitions[savingsInstantTransitions.length - 1];
@@ -542,16 +933,39 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
         return new ZoneOffsetTransition(savingsInstantTransitions[index - 1], wallOffsets[index - 1], wallOffsets[index]);
     }
 
-    private int findYear(long epochSecond, ZoneOffset offset) {
-        // inline for performance
-        long localSecond = epochSecond + offset.getTotalSeconds();
-        long localEpochDay = Math.floorDiv(localSecond, 86400);
-        return LocalDate.ofEpochDay(localEpochDay).getYear();
+    //GWT Specific
+    private static int findYear(double epochSecond, ZoneOffset offset) {
+        // inline for performance, JS numbers are exact for the supported years
+        double localSecond = epochSecond + offset.getTotalSeconds();
+        double localEpochDay = Math.floor(localSecond / 86400);
+        // estimate with the average year length and correct, no LocalDate is created
+        int year = (int) Math.floor(localEpochDay * 400 / 146097) + 1970;
+        if (localEpochDay < yearStartEpochDay(year)) {
+            return year - 1;
+        }
+        if (localEpochDay >= yearStartEpochDay(year + 1)) {
+            return year + 1;
+        }
+        return year;
+    }
+
+    //GWT Specific
+    /**
+     * @return the epoch day of 1 January of the year
+     */
+    private static double yearStartEpochDay(int year) {
+        double before = year - 1.0;
+        double leapDays = Math.floor(before / 4) - Math.floor(before / 100) + Math.floor(before / 400);
+        // 477 leap days before 1970
+        return 365.0 * (year - 1970) + leapDays - 477;
     }
 
     //-------------------------------------------------------------------------
     @Override
     public List<ZoneOffsetTransition> getTransitions() {
+        if (history != null) {
+            return full().getTransitions();
+        }
         List<ZoneOffsetTransition> list = new ArrayList<ZoneOffsetTransition>();
         for (int i = 0; i < savingsInstantTransitions.length; i++) {
             list.add(new ZoneOffsetTransition(savingsInstantTransitions[i], wallOffsets[i], wallOffsets[i + 1]));
@@ -571,12 +985,13 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
            return true;
         }
         if (obj instanceof StandardZoneRules) {
-            StandardZoneRules other = (StandardZoneRules) obj;
-            return Arrays.equals(standardTransitions, other.standardTransitions) &&
-                    Arrays.equals(standardOffsets, other.standardOffsets) &&
-                    Arrays.equals(savingsInstantTransitions, other.savingsInstantTransitions) &&
-                    Arrays.equals(wallOffsets, other.wallOffsets) &&
-                    Arrays.equals(lastRules, other.lastRules);
+            StandardZoneRules rules = full();
+            StandardZoneRules other = ((StandardZoneRules) obj).full();
+            return Arrays.equals(rules.standardTransitions, other.standardTransitions) &&
+                    Arrays.equals(rules.standardOffsets, other.standardOffsets) &&
+                    Arrays.equals(rules.savingsInstantTransitions, other.savingsInstantTransitions) &&
+                    Arrays.equals(rules.wallOffsets, other.wallOffsets) &&
+                    Arrays.equals(rules.lastRules, other.lastRules);
         }
         if (obj instanceof Fixed) {
             return isFixedOffset() && getOffset(Instant.EPOCH).equals(((Fixed) obj).getOffset(Instant.EPOCH));
@@ -586,11 +1001,12 @@ public final class StandardZoneRules extends ZoneRules implements Serializable {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(standardTransitions) ^
-                Arrays.hashCode(standardOffsets) ^
-                Arrays.hashCode(savingsInstantTransitions) ^
-                Arrays.hashCode(wallOffsets) ^
-                Arrays.hashCode(lastRules);
+        StandardZoneRules rules = full();
+        return Arrays.hashCode(rules.standardTransitions) ^
+                Arrays.hashCode(rules.standardOffsets) ^
+                Arrays.hashCode(rules.savingsInstantTransitions) ^
+                Arrays.hashCode(rules.wallOffsets) ^
+                Arrays.hashCode(rules.lastRules);
     }
 
     //-----------------------------------------------------------------------
@@ -0,0 +1,338 @@
+package java.time.zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.zone.TzdbZoneRulesProvider.Version;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Parses the TZDB data (v1 or v2 format) progressively, as the chunks of the
+ * download arrive.
+ * <p>
+ * Each appended chunk is parsed as far as its complete items go: the header,
+ * the region IDs, the offset dictionary, the rule table and the version links.
+ * The zone IDs are available as soon as the region table is received. The
+ * links from the regions to the rules are at the end of the data, so the
+ * provider is available once the last chunk is parsed.
+ */
+//GWT Specific
+public final class TzdbStreamParser {
+
+	private enum Stage {
+		HEADER, VERSIONS, REGIONS, OFFSETS, RULES, LINKS, DONE
+	}
+
+	/**
+	 * The epoch second the rules decode the transitions from.
+	 */
+	private final long cutoff;
+	/**
+	 * The received data, the position is the parse position, the limit is the
+	 * received length.
+	 */
+	private ByteBuffer data;
+	private Stage stage = Stage.HEADER;
+	private byte format;
+	/**
+	 * The number of the items of the current stage, -1 if not read yet.
+	 */
+	private int count = -1;
+	/**
+	 * The number of the parsed items of the current stage.
+	 */
+	private int parsed;
+	private String[] versionArray;
+	private String[] regionArray;
+	private ZoneOffset[] offsets;
+	private int[] rulePositions;
+	private int[] ruleLengths;
+	private String[][] versionRegions;
+	private short[][] versionRules;
+	private TzdbZoneRulesProvider provider;
+
+	/**
+	 * Creates an instance decoding all the transitions.
+	 *
+	 * @param expectedLength the expected data length, 0 if unknown
+	 */
+	public TzdbStreamParser(int expectedLength) {
+		this(expectedLength, Year.MIN_VALUE);
+	}
+
+	/**
+	 * Creates an instance.
+	 *
+	 * @param expectedLength the expected data length, 0 if unknown
+	 * @param horizonYear    the first year to decode the transitions for,
+	 *                       {@link Year#MIN_VALUE} to decode all the transitions
+	 */
+	public TzdbStreamParser(int expectedLength, int horizonYear) {
+		this.cutoff = TzdbZoneRulesProvider.cutoff(horizonYear);
+		this.data = ByteBuffer.allocate(Math.max(expectedLength, 4096));
+		this.data.limit(0);
+	}
+
+	// -----------------------------------------------------------------------
+	/**
+	 * Appends the next chunk and parses the complete items.
+	 *
+	 * @param chunk the next bytes of the data, not null
+	 * @return true if the data are complete
+	 * @throws ZoneRulesException if the data are invalid or the parsing is
+	 *                            already complete
+	 */
+	public boolean append(ByteBuffer chunk) {
+		Objects.requireNonNull(chunk, "chunk");
+		if (stage == Stage.DONE) {
+			throw new ZoneRulesException("TZDB time-zone rules are already complete");
+		}
+		int position = data.position();
+		int length = data.limit();
+		if (data.capacity() - length < chunk.remaining()) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(data.capacity() * 2, length + chunk.remaining()));
+			data.position(0);
+			grown.put(data);
+			data = grown;
+		}
+		data.limit(data.capacity());
+		data.position(length);
+		data.put(chunk);
+		data.limit(data.position());
+		data.position(position);
+		try {
+			parse();
+		} catch (IOException ex) {
+			throw new ZoneRulesException("Unable to load TZDB time-zone rules", ex);
+		}
+		return stage == Stage.DONE;
+	}
+
+	/**
+	 * @return true if the data are complete and the provider is available
+	 */
+	public boolean isComplete() {
+		return stage == Stage.DONE;
+	}
+
+	/**
+	 * @return the zone IDs, sorted, null if the region table is not received yet
+	 */
+	public List<String> getZoneIds() {
+		return stage.compareTo(Stage.REGIONS) > 0 ? Collections.unmodifiableList(Arrays.asList(regionArray)) : null;
+	}
+
+	/**
+	 * @return the provider of the complete data, not null
+	 * @throws IllegalStateException if the data are not complete
+	 */
+	public ZoneRulesProvider getProvider() {
+		if (provider == null) {
+			throw new IllegalStateException("TZDB time-zone rules are not complete");
+		}
+		return provider;
+	}
+
+	// -----------------------------------------------------------------------
+	private void parse() throws IOException {
+		while (stage != Stage.DONE && parseNext()) {
+			// next item
+		}
+	}
+
+	/**
+	 * Parses the next item of the current stage.
+	 *
+	 * @return false if the item is not received completely
+	 */
+	private boolean parseNext() throws IOException {
+		switch (stage) {
+		case HEADER:
+			return parseHeader();
+		case VERSIONS:
+			if (!readCount()) {
+				return false;
+			}
+			if (versionArray == null) {
+				versionArray = new String[count];
+			}
+			if (parsed < count) {
+				String version = readUtf();
+				if (version == null) {
+					return false;
+				}
+				versionArray[parsed++] = version;
+			}
+			if (parsed == count) {
+				next(Stage.REGIONS);
+			}
+			return true;
+		case REGIONS:
+			if (!readCount()) {
+				return false;
+			}
+			if (regionArray == null) {
+				regionArray = new String[count];
+			}
+			if (parsed < count) {
+				String region = readUtf();
+				if (region == null) {
+					return false;
+				}
+				regionArray[parsed++] = region;
+			}
+			if (parsed == count) {
+				next(format == 2 ? Stage.OFFSETS : Stage.RULES);
+			}
+			return true;
+		case OFFSETS:
+			if (!readCount()) {
+				return false;
+			}
+			if (offsets == null) {
+				offsets = new ZoneOffset[count];
+			}
+			if (parsed < count) {
+				if (data.remaining() < 4) {
+					return false;
+				}
+				offsets[parsed++] = ZoneOffset.ofTotalSeconds(data.getInt());
+			}
+			if (parsed == count) {
+				next(Stage.RULES);
+			}
+			return true;
+		case RULES:
+			if (!readCount()) {
+				return false;
+			}
+			if (rulePositions == null) {
+				rulePositions = new int[count];
+				ruleLengths = new int[count];
+			}
+			if (parsed < count) {
+				if (data.remaining() < 2) {
+					return false;
+				}
+				int length = data.getShort(data.position()) & 0xffff;
+				if (data.remaining() < 2 + length) {
+					return false;
+				}
+				rulePositions[parsed] = data.position() + 2;
+				ruleLengths[parsed++] = length;
+				data.position(data.position() + 2 + length);
+			}
+			if (parsed == count) {
+				next(Stage.LINKS);
+			}
+			return true;
+		case LINKS:
+			return parseLinks();
+		default:
+			return false;
+		}
+	}
+
+	private boolean parseHeader() throws IOException {
+		int position = data.position();
+		if (data.remaining() < 1) {
+			return false;
+		}
+		format = data.get();
+		if (format != 1 && format != 2) {
+			throw new IOException("File format not recognised");
+		}
+		String groupId = readUtf();
+		if (groupId == null) {
+			data.position(position);
+			return false;
+		}
+		if (!"TZDB".equals(groupId)) {
+			throw new IOException("File format not recognised");
+		}
+		next(Stage.VERSIONS);
+		return true;
+	}
+
+	private boolean parseLinks() {
+		if (versionRegions == null) {
+			versionRegions = new String[versionArray.length][];
+			versionRules = new short[versionArray.length][];
+		}
+		if (parsed < versionArray.length) {
+			if (data.remaining() < 2) {
+				return false;
+			}
+			int versionRegionCount = data.getShort(data.position());
+			if (data.remaining() < 2 + versionRegionCount * 4) {
+				return false;
+			}
+			data.getShort();
+			String[] regions = new String[versionRegionCount];
+			short[] rules = new short[versionRegionCount];
+			for (int j = 0; j < versionRegionCount; j++) {
+				regions[j] = regionArray[data.getShort()];
+				rules[j] = data.getShort();
+			}
+			versionRegions[parsed] = regions;
+			versionRules[parsed++] = rules;
+		}
+		if (parsed == versionArray.length) {
+			complete();
+		}
+		return true;
+	}
+
+	private void complete() {
+		ByteBuffer[] ruleArray = new ByteBuffer[rulePositions.length];
+		for (int i = 0; i < ruleArray.length; i++) {
+			ByteBuffer view = data.duplicate();
+			view.position(rulePositions[i]);
+			ruleArray[i] = TzdbZoneRulesProvider.slice(view, ruleLengths[i]);
+		}
+		List<Version> versions = new ArrayList<>(versionArray.length);
+		for (int i = 0; i < versionArray.length; i++) {
+			versions.add(new Version(versionArray[i], versionRegions[i], versionRules[i], ruleArray, offsets, cutoff));
+		}
+		provider = new TzdbZoneRulesProvider(versions, cutoff);
+		next(Stage.DONE);
+	}
+
+	private void next(Stage nextStage) {
+		stage = nextStage;
+		count = -1;
+		parsed = 0;
+	}
+
+	/**
+	 * Reads the item count of the current stage, if not read yet.
+	 *
+	 * @return false if the count is not received
+	 */
+	private boolean readCount() {
+		if (count < 0) {
+			if (data.remaining() < 2) {
+				return false;
+			}
+			count = data.getShort();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the string or null if it is not received completely, the position
+	 *         is not changed then
+	 */
+	private String readUtf() throws IOException {
+		if (data.remaining() < 2 || data.remaining() < 2 + (data.getShort(data.position()) & 0xffff)) {
+			return null;
+		}
+		return TzdbZoneRulesProvider.readUtf(data);
+	}
+
+}
@@ -35,6 +35,10 @@ package java.time.zone;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -43,12 +47,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 
-import org.gwtproject.typedarrays.client.ArrayBufferNative;
-import org.gwtproject.typedarrays.client.Int8ArrayNative;
-
-import elemental2.core.ArrayBuffer;
-import jsinterop.base.Js;
-
 /**
  * Loads time-zone rules for 'TZDB'.
  * <p>
@@ -60,13 +58,23 @@ import jsinterop.base.Js;
 public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
 	/**
-	 * All the regions that are available.
+	 * All the regions that are available, in all the versions.
 	 */
-	private List<String> regionIds;
+	// GWT change: the union of the loaded versions
+	private final Set<String> regionIds = new HashSet<String>();
 	/**
 	 * All the versions that are available.
 	 */
 	private final NavigableMap<String, Version> versions = new TreeMap<String, Version>();
+	/**
+	 * The epoch second the rules decode the transitions from,
+	 * {@code Long.MIN_VALUE} to decode all the transitions.
+	 */
+	private final long cutoff;
+	/**
+	 * The data to load on the next refresh, null if none.
+	 */
+	private ByteBuffer pending;
 
 	/**
 	 * Creates an instance and loads the specified input stream.
@@ -77,7 +85,22 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 	 * @throws ZoneRulesException if unable to load
 	 */
 	public TzdbZoneRulesProvider(ByteBuffer data) {
+		this(data, Year.MIN_VALUE);
+	}
+
+	/**
+	 * Creates an instance and loads the specified input stream, the rules
+	 * decode only the transitions from the start of the horizon year. The
+	 * earlier transitions stay undecoded until an earlier date is queried.
+	 *
+	 * @param data        the data to load, not null
+	 * @param horizonYear the first year to decode the transitions for,
+	 *                    {@link Year#MIN_VALUE} to decode all the transitions
+	 * @throws ZoneRulesException if unable to load
+	 */
+	public TzdbZoneRulesProvider(ByteBuffer data, int horizonYear) {
 		super();
+		this.cutoff = cutoff(horizonYear);
 		try {
 			load(data);
 		} catch (Exception ex) {
@@ -85,6 +108,28 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 		}
 	}
 
+	// GWT specific
+	/**
+	 * Creates an instance with the versions parsed by {@link TzdbStreamParser}.
+	 *
+	 * @param versions the versions, not null
+	 * @param cutoff   the epoch second the rules decode the transitions from
+	 */
+	TzdbZoneRulesProvider(Iterable<Version> versions, long cutoff) {
+		super();
+		this.cutoff = cutoff;
+		load(versions);
+	}
+
+	/**
+	 * @param horizonYear the first year to decode the transitions for,
+	 *                    {@link Year#MIN_VALUE} to decode all the transitions
+	 * @return the epoch second to decode the transitions from
+	 */
+	static long cutoff(int horizonYear) {
+		return horizonYear == Year.MIN_VALUE ? Long.MIN_VALUE : LocalDate.of(horizonYear, 1, 1).toEpochDay() * 86400;
+	}
+
 	// -----------------------------------------------------------------------
 	@Override
 	protected Set<String> provideZoneIds() {
@@ -94,11 +139,14 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 	@Override
 	protected ZoneRules provideRules(String zoneId, boolean forCaching) {
 		Objects.requireNonNull(zoneId, "zoneId");
-		ZoneRules rules = versions.lastEntry().getValue().getRules(zoneId);
-		if (rules == null) {
-			throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+		// GWT change: the latest version defining the zone
+		for (Version version : versions.descendingMap().values()) {
+			ZoneRules rules = version.getRules(zoneId);
+			if (rules != null) {
+				return rules;
+			}
 		}
-		return rules;
+		throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
 	}
 
 	@Override
@@ -113,6 +161,45 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 		return map;
 	}
 
+	// GWT specific
+	/**
+	 * Loads the data offered by {@link #offer(ByteBuffer)}. The versions already
+	 * loaded are kept, the rules of a new version replace them for the zones
+	 * requested after the refresh.
+	 */
+	@Override
+	protected boolean provideRefresh() {
+		ByteBuffer data = pending;
+		if (data == null) {
+			return false;
+		}
+		pending = null;
+		List<Version> previous = new ArrayList<Version>(versions.values());
+		boolean updated;
+		try {
+			updated = load(data);
+		} catch (Exception ex) {
+			throw new ZoneRulesException("Unable to refresh TZDB time-zone rules", ex);
+		}
+		if (updated) {
+			for (Version version : previous) {
+				version.clearCaches();
+			}
+		}
+		return updated;
+	}
+
+	// GWT specific
+	/**
+	 * Offers newer TZDB data, in the format of the constructor. The data is
+	 * loaded by the next {@link ZoneRulesProvider#refresh()}.
+	 *
+	 * @param data the data to load, not null
+	 */
+	public void offer(ByteBuffer data) {
+		pending = Objects.requireNonNull(data, "data");
+	}
+
 	// -------------------------------------------------------------------------
 	/**
 	 * Loads the rules from an input stream.
@@ -121,8 +208,11 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 	 * @throws Exception if an error occurs
 	 */
 	private boolean load(ByteBuffer in) throws IOException {
+		return load(loadData(in));
+	}
+
+	private boolean load(Iterable<Version> loadedVersions) {
 		boolean updated = false;
-		Iterable<Version> loadedVersions = loadData(in);
 		for (Version loadedVersion : loadedVersions) {
 			// see https://github.com/ThreeTen/threetenbp/pull/28 for issue wrt
 			// multiple versions of lib on classpath
@@ -131,7 +221,11 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 				throw new ZoneRulesException(
 						"Data already loaded for TZDB time-zone rules version: " + loadedVersion.versionId);
 			}
-			updated = true;
+			// GWT change: a refresh with an already loaded version is not an update
+			if (existing == null) {
+				regionIds.addAll(Arrays.asList(loadedVersion.regionArray));
+				updated = true;
+			}
 		}
 		return updated;
 	}
@@ -143,7 +237,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 	 * @throws Exception if an error occurs
 	 */
 	private Iterable<Version> loadData(ByteBuffer dis) throws IOException {
-		if (dis.get() != 1) {
+		// GWT change: v1 or compact v2 format
+		byte format = dis.get();
+		if (format != 1 && format != 2) {
 			// GWT change
 			throw new IOException("File format not recognised");
 		}
@@ -165,20 +261,24 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 		for (int i = 0; i < regionCount; i++) {
 			regionArray[i] = readUtf(dis);
 		}
-		regionIds = Arrays.asList(regionArray);
+		// GWT change: v2 offset dictionary
+		ZoneOffset[] offsets = null;
+		if (format == 2) {
+			int offsetCount = dis.getShort();
+			offsets = new ZoneOffset[offsetCount];
+			for (int i = 0; i < offsetCount; i++) {
+				offsets[i] = ZoneOffset.ofTotalSeconds(dis.getInt());
+			}
+		}
 		// rules
 		int ruleCount = dis.getShort();
 //		ZoneRules[] ruleArray = new ZoneRules[ruleCount];
-		ArrayBuffer[] ruleArray = new ArrayBuffer[ruleCount];
+		// GWT change: keep views into the original buffer, no copy
+		ByteBuffer[] ruleArray = new ByteBuffer[ruleCount];
 		for (int i = 0; i < ruleCount; i++) {
-			short length = dis.getShort();
-			ArrayBufferNative buffer = new ArrayBufferNative(length);
-			Int8ArrayNative array = new Int8ArrayNative(buffer);
-			for (int j = 0; j < length; j++) {
-				array.set(j, dis.get());
-			}
+			int length = dis.getShort() & 0xffff;
+			ruleArray[i] = slice(dis, length);
 //			ruleArray[i] = (ZoneRules) Ser.read(dis);
-			ruleArray[i] = Js.cast(buffer);
 		}
 		// link version-region-rules
 		Set<Version> versionSet = new HashSet<Version>(versionCount);
@@ -190,12 +290,27 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 				versionRegionArray[j] = regionArray[dis.getShort()];
 				versionRulesArray[j] = dis.getShort();
 			}
-			versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleArray));
+			versionSet.add(
+					new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleArray, offsets, cutoff));
 		}
 		return versionSet;
 	}
 
-	private String readUtf(ByteBuffer dis) throws IOException {
+	/**
+	 * Creates a view of the next {@code length} bytes and skips them.
+	 *
+	 * @param dis    the buffer, not null
+	 * @param length the length of the view
+	 * @return the view sharing the content of the buffer, not null
+	 */
+	static ByteBuffer slice(ByteBuffer dis, int length) {
+		ByteBuffer view = dis.slice();
+		view.limit(length);
+		dis.position(dis.position() + length);
+		return view;
+	}
+
+	static String readUtf(ByteBuffer dis) throws IOException {
 		int stringSize = dis.getShort() & 0xffff;
 		byte[] data = new byte[stringSize];
 		dis.get(data);
@@ -215,11 +330,22 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 		private final String versionId;
 		private final String[] regionArray;
 		private final short[] ruleIndices;
-		private final ArrayBuffer[] encodeRuleData;
+		private final ByteBuffer[] encodeRuleData;
 		private final ZoneRules[] ruleData;
+		/**
+		 * The offset dictionary of the v2 format, null for v1.
+		 */
+		private final ZoneOffset[] offsets;
+		/**
+		 * The epoch second to decode the transitions from.
+		 */
+		private final long cutoff;
 
-		Version(String versionId, String[] regionIds, short[] ruleIndices, ArrayBuffer[] encodeRuleData) {
+		Version(String versionId, String[] regionIds, short[] ruleIndices, ByteBuffer[] encodeRuleData,
+				ZoneOffset[] offsets, long cutoff) {
 			this.encodeRuleData = encodeRuleData;
+			this.offsets = offsets;
+			this.cutoff = cutoff;
 			this.ruleData = new ZoneRules[encodeRuleData.length];
 			this.versionId = versionId;
 			this.regionArray = regionIds;
@@ -242,14 +368,30 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 		ZoneRules createRule(short index) throws Exception {
 			ZoneRules rule = ruleData[index];
 			if (rule == null) {
-				ArrayBuffer arrayBuffer = encodeRuleData[index];
-				rule = (ZoneRules) Ser.read(ByteBuffer.wrapArrayBuffer(arrayBuffer));
+				ByteBuffer data = encodeRuleData[index];
+				if (cutoff != Long.MIN_VALUE) {
+					rule = (ZoneRules) Ser.read(data, offsets, cutoff);
+				} else {
+					rule = (ZoneRules) (offsets == null ? Ser.read(data) : Ser.read(data, offsets));
+				}
 				ruleData[index] = rule;
 				encodeRuleData[index] = null;
 			}
 			return rule;
 		}
 
+		// GWT specific
+		/**
+		 * Drops the caches of the decoded rules, the version is superseded.
+		 */
+		void clearCaches() {
+			for (ZoneRules rule : ruleData) {
+				if (rule instanceof StandardZoneRules) {
+					((StandardZoneRules) rule).clearCaches();
+				}
+			}
+		}
+
 		@Override
 		public String toString() {
 			return versionId;
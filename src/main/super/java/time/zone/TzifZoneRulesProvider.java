@@ -0,0 +1,492 @@
+package java.time.zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransitionRule.TimeDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Loads the time-zone rules from the IANA TZif files (RFC 8536), one file per
+ * zone, as compiled by {@code zic} from any tzdata release.
+ * <p>
+ * The files are not copied, a file is parsed on the first access to its zone.
+ * The 64-bit data block of the version 2+ files is used, the version 1 files
+ * are read from the 32-bit block. The transitions after the table come from
+ * the POSIX TZ string of the footer, the day-of-week rules
+ * ({@code Mm.w.d}) and the Julian days ({@code Jn}) are supported. TZif does
+ * not store the standard offsets of the daylight savings periods, the
+ * standard offset of the closest preceding standard period is used.
+ */
+//GWT Specific
+public final class TzifZoneRulesProvider extends ZoneRulesProvider {
+
+	private static final int HEADER_LENGTH = 44;
+	/**
+	 * The transitions before this epoch second only set the initial offset, zic
+	 * puts the "big bang" transition at -2^59.
+	 */
+	private static final long MIN_TRANSITION = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC) + 86400;
+	private static final int DEFAULT_RULE_TIME = 2 * 3600;
+	/**
+	 * A year without the 29th of February for the Julian days.
+	 */
+	private static final int NON_LEAP_YEAR = 2001;
+
+	/**
+	 * The version of the files.
+	 */
+	private final String versionId;
+	/**
+	 * The files by the zone ID, not parsed yet.
+	 */
+	private final Map<String, ByteBuffer> files = new HashMap<>();
+	/**
+	 * The rules parsed so far.
+	 */
+	private final Map<String, ZoneRules> rules = new HashMap<>();
+
+	/**
+	 * Creates an instance.
+	 *
+	 * @param versionId the version of the tzdata release the files are compiled
+	 *                  from, not null
+	 * @param files     the TZif files by the zone ID, from the position to the
+	 *                  limit, not null
+	 */
+	public TzifZoneRulesProvider(String versionId, Map<String, ByteBuffer> files) {
+		super();
+		this.versionId = Objects.requireNonNull(versionId, "versionId");
+		Objects.requireNonNull(files, "files");
+		for (Map.Entry<String, ByteBuffer> entry : files.entrySet()) {
+			this.files.put(Objects.requireNonNull(entry.getKey(), "zoneId"),
+					Objects.requireNonNull(entry.getValue(), "file").duplicate().order(ByteOrder.BIG_ENDIAN));
+		}
+	}
+
+	// -----------------------------------------------------------------------
+	@Override
+	protected Set<String> provideZoneIds() {
+		return new HashSet<String>(files.keySet());
+	}
+
+	@Override
+	protected ZoneRules provideRules(String zoneId, boolean forCaching) {
+		Objects.requireNonNull(zoneId, "zoneId");
+		ZoneRules zoneRules = rules.get(zoneId);
+		if (zoneRules == null) {
+			ByteBuffer file = files.get(zoneId);
+			if (file == null) {
+				throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
+			}
+			try {
+				zoneRules = parse(file);
+			} catch (IOException | RuntimeException ex) {
+				throw new ZoneRulesException("Unable to load TZif time-zone rules for " + zoneId, ex);
+			}
+			rules.put(zoneId, zoneRules);
+		}
+		return zoneRules;
+	}
+
+	@Override
+	protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+		TreeMap<String, ZoneRules> map = new TreeMap<String, ZoneRules>();
+		map.put(versionId, provideRules(zoneId, false));
+		return map;
+	}
+
+	// -----------------------------------------------------------------------
+	/**
+	 * Parses a TZif file.
+	 *
+	 * @param file the file from the position to the limit, big endian
+	 * @return the rules, not null
+	 * @throws IOException if the file is invalid
+	 */
+	static ZoneRules parse(ByteBuffer file) throws IOException {
+		int start = file.position();
+		byte version = readHeader(file, start);
+		if (version == 0) {
+			return toRules(readBlock(file, start, 4), null);
+		}
+		int start64 = start + HEADER_LENGTH + blockLength(file, start, 4);
+		readHeader(file, start64);
+		Block block = readBlock(file, start64, 8);
+		return toRules(block, readFooter(file, start64 + HEADER_LENGTH + blockLength(file, start64, 8)));
+	}
+
+	/**
+	 * @return the version, 0 for the version 1 files
+	 */
+	private static byte readHeader(ByteBuffer file, int start) throws IOException {
+		if (file.limit() - start < HEADER_LENGTH || file.get(start) != 'T' || file.get(start + 1) != 'Z'
+				|| file.get(start + 2) != 'i' || file.get(start + 3) != 'f') {
+			throw new IOException("File format not recognised");
+		}
+		byte version = file.get(start + 4);
+		if (version != 0 && version < '2') {
+			throw new IOException("Unsupported TZif version: " + version);
+		}
+		return version;
+	}
+
+	/**
+	 * @return the length of the data block after the header
+	 */
+	private static int blockLength(ByteBuffer file, int start, int timeSize) {
+		int isutcnt = file.getInt(start + 20);
+		int isstdcnt = file.getInt(start + 24);
+		int leapcnt = file.getInt(start + 28);
+		int timecnt = file.getInt(start + 32);
+		int typecnt = file.getInt(start + 36);
+		int charcnt = file.getInt(start + 40);
+		return timecnt * (timeSize + 1) + typecnt * 6 + charcnt + leapcnt * (timeSize + 4) + isstdcnt + isutcnt;
+	}
+
+	private static Block readBlock(ByteBuffer file, int start, int timeSize) throws IOException {
+		int timecnt = file.getInt(start + 32);
+		int typecnt = file.getInt(start + 36);
+		if (typecnt < 1 || file.limit() - start < HEADER_LENGTH + blockLength(file, start, timeSize)) {
+			throw new IOException("Truncated TZif data");
+		}
+		Block block = new Block(timecnt, typecnt);
+		int position = start + HEADER_LENGTH;
+		for (int i = 0; i < timecnt; i++, position += timeSize) {
+			block.times[i] = timeSize == 8 ? file.getLong(position) : file.getInt(position);
+		}
+		for (int i = 0; i < timecnt; i++, position++) {
+			block.typeIndices[i] = file.get(position) & 0xff;
+			if (block.typeIndices[i] >= typecnt) {
+				throw new IOException("Invalid TZif time type index: " + block.typeIndices[i]);
+			}
+		}
+		for (int i = 0; i < typecnt; i++, position += 6) {
+			block.offsets[i] = ZoneOffset.ofTotalSeconds(file.getInt(position));
+			block.daylight[i] = file.get(position + 4) != 0;
+		}
+		return block;
+	}
+
+	/**
+	 * @return the POSIX TZ string of the footer, empty if none
+	 */
+	private static String readFooter(ByteBuffer file, int position) throws IOException {
+		if (position >= file.limit() || file.get(position) != '\n') {
+			throw new IOException("Invalid TZif footer");
+		}
+		StringBuilder footer = new StringBuilder();
+		for (int i = position + 1; i < file.limit(); i++) {
+			char ch = (char) (file.get(i) & 0xff);
+			if (ch == '\n') {
+				return footer.toString();
+			}
+			footer.append(ch);
+		}
+		throw new IOException("Invalid TZif footer");
+	}
+
+	// -----------------------------------------------------------------------
+	private static ZoneRules toRules(Block block, String footer) throws IOException {
+		// the local time before the first transition is the one of the first time type
+		int first = 0;
+		int from = 0;
+		while (from < block.times.length && block.times[from] < MIN_TRANSITION) {
+			first = block.typeIndices[from++];
+		}
+		int count = block.times.length - from;
+		ZoneOffset[] walls = new ZoneOffset[count + 1];
+		boolean[] daylight = new boolean[count + 1];
+		walls[0] = block.offsets[first];
+		daylight[0] = block.daylight[first];
+		for (int i = 0; i < count; i++) {
+			walls[i + 1] = block.offsets[block.typeIndices[from + i]];
+			daylight[i + 1] = block.daylight[block.typeIndices[from + i]];
+		}
+		List<ZoneOffsetTransitionRule> lastRules = footer == null || footer.isEmpty() ? Collections.emptyList()
+				: new PosixRule(footer).toRules();
+		if (count == 0 && !lastRules.isEmpty()) {
+			throw new IOException("No TZif transitions before the POSIX TZ rules");
+		}
+		ZoneOffset[] standards = toStandards(walls, daylight);
+		List<ZoneOffsetTransition> transitions = new ArrayList<>(count);
+		List<ZoneOffsetTransition> standardTransitions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			long epochSec = block.times[from + i];
+			if (!walls[i].equals(walls[i + 1])) {
+				transitions.add(new ZoneOffsetTransition(epochSec, walls[i], walls[i + 1]));
+			}
+			if (!standards[i].equals(standards[i + 1])) {
+				standardTransitions.add(new ZoneOffsetTransition(epochSec, standards[i], standards[i + 1]));
+			}
+		}
+		if (!lastRules.isEmpty()) {
+			appendRuleTransitions(block.times[block.times.length - 1], walls[count], standards[count], lastRules,
+					transitions, standardTransitions);
+		}
+		return ZoneRules.of(standards[0], walls[0], standardTransitions, transitions, lastRules);
+	}
+
+	/**
+	 * The rules apply from the year of the last transition, so the table must
+	 * end with a transition of the rules. The "slim" files end at the first
+	 * transition that the rules produce, it may change only the abbreviation or
+	 * the daylight savings flag. The transitions of the rules in that year and
+	 * the next one are added after the table end.
+	 */
+	private static void appendRuleTransitions(long end, ZoneOffset wall, ZoneOffset standard,
+			List<ZoneOffsetTransitionRule> lastRules, List<ZoneOffsetTransition> transitions,
+			List<ZoneOffsetTransition> standardTransitions) {
+		int year = LocalDateTime.ofEpochSecond(end, 0, wall).getYear();
+		for (int y = year; y <= year + 1; y++) {
+			for (ZoneOffsetTransitionRule rule : lastRules) {
+				ZoneOffsetTransition trans = rule.createTransition(y);
+				long epochSec = trans.toEpochSecond();
+				if (epochSec > end) {
+					if (!wall.equals(trans.getOffsetAfter())) {
+						transitions.add(new ZoneOffsetTransition(epochSec, wall, trans.getOffsetAfter()));
+					}
+					if (!standard.equals(rule.getStandardOffset())) {
+						standardTransitions.add(new ZoneOffsetTransition(epochSec, standard, rule.getStandardOffset()));
+					}
+					wall = trans.getOffsetAfter();
+					standard = rule.getStandardOffset();
+					end = epochSec;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the standard offsets, the one of the closest preceding standard
+	 *         period (or the following for the leading daylight savings periods)
+	 *         for the daylight savings periods
+	 */
+	private static ZoneOffset[] toStandards(ZoneOffset[] walls, boolean[] daylight) {
+		ZoneOffset[] standards = new ZoneOffset[walls.length];
+		ZoneOffset standard = null;
+		for (int i = 0; i < walls.length; i++) {
+			if (!daylight[i]) {
+				standard = walls[i];
+			}
+			standards[i] = standard;
+		}
+		standard = null;
+		for (int i = walls.length - 1; i >= 0; i--) {
+			if (!daylight[i]) {
+				standard = walls[i];
+			} else if (standards[i] == null) {
+				standards[i] = standard == null ? walls[i] : standard;
+			}
+		}
+		return standards;
+	}
+
+	// -----------------------------------------------------------------------
+	/**
+	 * The data block of a TZif file, the leap seconds and the indicators are
+	 * not used.
+	 */
+	private static final class Block {
+		private final long[] times;
+		private final int[] typeIndices;
+		private final ZoneOffset[] offsets;
+		private final boolean[] daylight;
+
+		private Block(int timecnt, int typecnt) {
+			this.times = new long[timecnt];
+			this.typeIndices = new int[timecnt];
+			this.offsets = new ZoneOffset[typecnt];
+			this.daylight = new boolean[typecnt];
+		}
+	}
+
+	/**
+	 * Parser of the POSIX TZ string, for example
+	 * {@code CET-1CEST,M3.5.0,M10.5.0/3}. The offsets are positive west of
+	 * Greenwich, the transition times are the local wall times and may be
+	 * negative or greater than 24 hours (TZif version 3).
+	 */
+	private static final class PosixRule {
+		private final String tz;
+		private int position;
+
+		private PosixRule(String tz) {
+			this.tz = tz;
+		}
+
+		/**
+		 * @return the rules ordered by the transition date, empty if there is no
+		 *         daylight savings
+		 */
+		private List<ZoneOffsetTransitionRule> toRules() throws IOException {
+			skipName();
+			ZoneOffset standard = ZoneOffset.ofTotalSeconds(-readTime());
+			if (position == tz.length()) {
+				return Collections.emptyList();
+			}
+			skipName();
+			ZoneOffset daylight = ZoneOffset.ofTotalSeconds(standard.getTotalSeconds() + 3600);
+			if (position < tz.length() && tz.charAt(position) != ',') {
+				daylight = ZoneOffset.ofTotalSeconds(-readTime());
+			}
+			expect(',');
+			ZoneOffsetTransitionRule start = readRule(standard, standard, daylight);
+			expect(',');
+			ZoneOffsetTransitionRule end = readRule(standard, daylight, standard);
+			if (position != tz.length()) {
+				throw invalid();
+			}
+			if (end.createTransition(NON_LEAP_YEAR).toEpochSecond() < start.createTransition(NON_LEAP_YEAR)
+					.toEpochSecond()) {
+				return Arrays.asList(end, start);
+			}
+			return Arrays.asList(start, end);
+		}
+
+		private ZoneOffsetTransitionRule readRule(ZoneOffset standard, ZoneOffset before, ZoneOffset after)
+				throws IOException {
+			char form = next();
+			Month month;
+			int dayOfMonthIndicator;
+			DayOfWeek dayOfWeek = null;
+			if (form == 'M') {
+				month = Month.of(readNumber(1, 12));
+				expect('.');
+				int week = readNumber(1, 5);
+				expect('.');
+				dayOfWeek = DayOfWeek.SUNDAY.plus(readNumber(0, 6));
+				dayOfMonthIndicator = week == 5 ? -1 : (week - 1) * 7 + 1;
+			} else {
+				LocalDate date;
+				if (form == 'J') {
+					date = LocalDate.ofYearDay(NON_LEAP_YEAR, readNumber(1, 365));
+				} else {
+					position--;
+					// the same date in all the years only before the 29th of February
+					date = LocalDate.ofYearDay(NON_LEAP_YEAR, readNumber(0, 58) + 1);
+				}
+				month = date.getMonth();
+				dayOfMonthIndicator = date.getDayOfMonth();
+			}
+			int time = DEFAULT_RULE_TIME;
+			if (position < tz.length() && tz.charAt(position) == '/') {
+				position++;
+				time = readTime();
+			}
+			// the time out of the day moves the date
+			int days = Math.floorDiv(time, 86400);
+			int seconds = Math.floorMod(time, 86400);
+			boolean endOfDay = false;
+			if (seconds == 0 && days > 0) {
+				endOfDay = true;
+				days--;
+			}
+			if (days != 0) {
+				if (dayOfWeek != null) {
+					dayOfWeek = dayOfWeek.plus(days);
+				}
+				dayOfMonthIndicator += days;
+				if (dayOfMonthIndicator == 0 || dayOfMonthIndicator < -28 || dayOfMonthIndicator > month.minLength()
+						|| (dayOfMonthIndicator < 0 && days > 0)) {
+					throw new IOException("Unsupported POSIX TZ rule time: " + tz);
+				}
+			}
+			return ZoneOffsetTransitionRule.of(month, dayOfMonthIndicator, dayOfWeek,
+					LocalTime.ofSecondOfDay(seconds), endOfDay, TimeDefinition.WALL, standard, before, after);
+		}
+
+		/**
+		 * Skips an abbreviation, alphabetic or quoted in angle brackets.
+		 */
+		private void skipName() throws IOException {
+			int start = position;
+			if (position < tz.length() && tz.charAt(position) == '<') {
+				position = tz.indexOf('>', position) + 1;
+				if (position == 0) {
+					throw invalid();
+				}
+				return;
+			}
+			while (position < tz.length() && Character.isLetter(tz.charAt(position))) {
+				position++;
+			}
+			if (position - start < 3) {
+				throw invalid();
+			}
+		}
+
+		/**
+		 * Reads {@code [+-]hh[:mm[:ss]]}.
+		 *
+		 * @return the seconds, the sign is as in the string
+		 */
+		private int readTime() throws IOException {
+			int sign = 1;
+			if (position < tz.length() && (tz.charAt(position) == '+' || tz.charAt(position) == '-')) {
+				sign = next() == '-' ? -1 : 1;
+			}
+			int seconds = readNumber(0, 167) * 3600;
+			if (position < tz.length() && tz.charAt(position) == ':') {
+				position++;
+				seconds += readNumber(0, 59) * 60;
+				if (position < tz.length() && tz.charAt(position) == ':') {
+					position++;
+					seconds += readNumber(0, 59);
+				}
+			}
+			return sign * seconds;
+		}
+
+		private int readNumber(int min, int max) throws IOException {
+			int start = position;
+			int value = 0;
+			while (position < tz.length() && tz.charAt(position) >= '0' && tz.charAt(position) <= '9') {
+				value = value * 10 + tz.charAt(position++) - '0';
+			}
+			if (position == start || value < min || value > max) {
+				throw invalid();
+			}
+			return value;
+		}
+
+		private void expect(char expected) throws IOException {
+			if (next() != expected) {
+				throw invalid();
+			}
+		}
+
+		private char next() throws IOException {
+			if (position >= tz.length()) {
+				throw invalid();
+			}
+			return tz.charAt(position++);
+		}
+
+		private IOException invalid() {
+			return new IOException("Invalid POSIX TZ string: " + tz);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TZif[" + versionId + "]";
+	}
+
+}
@@ -78,6 +78,11 @@ public abstract class ZoneRulesProvider {
      * The lookup from zone region ID to provider.
      */
 	private static final ConcurrentMap<String, ZoneRulesProvider> ZONES = new ConcurrentHashMap<>(512, 0.75f);
+	/**
+	 * Incremented each time the registered zone IDs or rules change.
+	 */
+	//GWT specific
+	private static int revision;
 
 	static {
 		ZoneRulesInitializer.initialize();
@@ -190,6 +195,7 @@ public abstract class ZoneRulesProvider {
         Objects.requireNonNull(provider, "provider");
         registerProvider0(provider);
         PROVIDERS.add(provider);
+        revision++;
     }
 
     /**
@@ -228,11 +234,29 @@ public abstract class ZoneRulesProvider {
     public static boolean refresh() {
         boolean changed = false;
         for (ZoneRulesProvider provider : PROVIDERS) {
-            changed |= provider.provideRefresh();
+            //GWT specific: register the zone IDs added by the refreshed data
+            if (provider.provideRefresh()) {
+                changed = true;
+                for (String zoneId : provider.provideZoneIds()) {
+                    ZONES.putIfAbsent(zoneId, provider);
+                }
+            }
+        }
+        if (changed) {
+            revision++;
         }
         return changed;
     }
 
+    //GWT specific
+    /**
+     * @return the revision of the registered zone IDs and rules, changes on each
+     *         provider registration and on each successful refresh
+     */
+    static int getRevision() {
+        return revision;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Constructor.
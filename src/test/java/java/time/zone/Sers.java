@@ -0,0 +1,17 @@
+package java.time.zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+//JDK version, see for real code in /src/test/super
+public class Sers {
+
+	private Sers() {
+		// prevent instantiation
+	}
+
+	public static long[] readTransitionEpochSecs(ByteBuffer in, int size, long cutoff, boolean keepLast) throws IOException {
+		return null;
+	}
+
+}
@@ -0,0 +1,18 @@
+package java.time.zone;
+
+//JDK version, see for real code in /src/test/super
+public class ZoneRulesProviders {
+
+	private ZoneRulesProviders() {
+		// prevent instantiation
+	}
+
+	public static ZoneRules getRules(ZoneRulesProvider provider, String zoneId) {
+		return null;
+	}
+
+	public static boolean refresh(ZoneRulesProvider provider) {
+		return false;
+	}
+
+}
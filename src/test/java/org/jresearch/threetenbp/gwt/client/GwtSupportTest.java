@@ -1,13 +1,43 @@
 package org.jresearch.threetenbp.gwt.client;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesProvider;
+import java.time.zone.ZoneRulesProviders;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.gwtproject.nio.TypedArrayHelper;
 import org.gwtproject.typedarrays.shared.Uint8Array;
+import org.jresearch.threetenbp.gwt.client.loader.LocalStorageTzdbStore;
+import org.jresearch.threetenbp.gwt.client.loader.MemoryTzdbStore;
+import org.jresearch.threetenbp.gwt.client.loader.TimeJsBundle;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.junit.client.GWTTestCase;
 
+import elemental2.core.ArrayBuffer;
+
 
 public class GwtSupportTest extends GWTTestCase {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(GwtSupportTest.class);
+
+	private static final TimeJsBundle BUNDLE = GWT.create(TimeJsBundle.class);
+
+	private static final int ROUNDS = 10;
+
 	/**
 	 * Must refer to a valid module that sources this class.
 	 */
@@ -28,6 +58,130 @@ public class GwtSupportTest extends GWTTestCase {
 		assertNotNull(timezone);
 	}
 
+	@Test
+	public void testOnTzReady() {
+		assertEquals(TzdbLoading.LAZY, Support.getTzdbLoading());
+		final boolean[] called = new boolean[1];
+		Support.onTzReady(() -> called[0] = true);
+		assertTrue(called[0]);
+		assertTrue(Support.isTzReady());
+		assertNotNull(ZoneId.of("Europe/Paris"));
+	}
+
+	@Test
+	public void testPreloadZones() {
+		final boolean[] called = new boolean[1];
+		Support.onTzReady(() -> {
+			called[0] = true;
+			// the "default" preload zone is decoded at registration, if known
+			String timezone = Support.getTimezone();
+			List<String> expected = ZoneId.getAvailableZoneIds().contains(timezone)
+					? Collections.singletonList(timezone)
+					: Collections.<String>emptyList();
+			assertEquals(expected, Support.getPreloadedZones());
+			assertTrue(Support.getPreloadTime() >= 0);
+		});
+		assertTrue(called[0]);
+		// the unknown zones are skipped
+		CountingProvider provider = CountingProvider.get();
+		int count = provider.count;
+		float time = Support.preloadZones(CountingProvider.ZONE_ID, "Europe/Unknown");
+		LOGGER.info("Preload: {} ms", time);
+		assertTrue(time >= 0);
+		assertEquals(count + 1, provider.count);
+	}
+
+	@Test
+	public void testRegisterTzProviderAfterFailure() {
+		// the TZDB data are registered first, then forgotten for the test
+		Support.onTzReady(() -> assertTrue(Support.isTzReady()));
+		ZoneRulesProvider registered = Support.swapTzData(null);
+		try {
+			try {
+				Support.registerTzProvider(new FailingProvider());
+				fail("The failing provider is registered");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+			assertFalse(Support.isTzReady());
+			// the failed registration does not block the next one
+			assertTrue(Support.registerTzProvider(new CountingProvider("Test/Registered")));
+			assertTrue(Support.isTzReady());
+			assertEquals(ZoneOffset.ofHours(1), ZoneId.of("Test/Registered").getRules().getOffset(Instant.EPOCH));
+		} finally {
+			Support.swapTzData(registered);
+		}
+	}
+
+	/**
+	 * Fails to list its zones.
+	 */
+	private static class FailingProvider extends ZoneRulesProvider {
+		@Override
+		protected Set<String> provideZoneIds() {
+			throw new IllegalStateException("No zones");
+		}
+
+		@Override
+		protected ZoneRules provideRules(String regionId, boolean forCaching) {
+			throw new IllegalStateException("No zones");
+		}
+
+		@Override
+		protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+			throw new IllegalStateException("No zones");
+		}
+	}
+
+	/**
+	 * Counts the decoded rules of its only zone.
+	 */
+	private static class CountingProvider extends ZoneRulesProvider {
+		private static final String ZONE_ID = "Test/Counting";
+		private static CountingProvider instance;
+		private final String zoneId;
+		private int count;
+
+		CountingProvider(String zoneId) {
+			this.zoneId = zoneId;
+		}
+
+		static CountingProvider get() {
+			if (instance == null) {
+				instance = new CountingProvider(ZONE_ID);
+				ZoneRulesProvider.registerProvider(instance);
+			}
+			return instance;
+		}
+
+		@Override
+		protected Set<String> provideZoneIds() {
+			return Collections.singleton(zoneId);
+		}
+
+		@Override
+		protected ZoneRules provideRules(String regionId, boolean forCaching) {
+			count++;
+			return ZoneOffset.ofHours(1).getRules();
+		}
+
+		@Override
+		protected NavigableMap<String, ZoneRules> provideVersions(String zoneId) {
+			TreeMap<String, ZoneRules> map = new TreeMap<>();
+			map.put("1", ZoneOffset.ofHours(1).getRules());
+			return map;
+		}
+	}
+
+	@Test
+	public void testTzdbLoadingOf() {
+		assertEquals(TzdbLoading.EAGER, TzdbLoading.of("eager"));
+		assertEquals(TzdbLoading.ASYNC, TzdbLoading.of("ASYNC"));
+		assertEquals(TzdbLoading.LAZY, TzdbLoading.of("lazy"));
+		assertEquals(TzdbLoading.NONE, TzdbLoading.of("none"));
+		assertEquals(TzdbLoading.LAZY, TzdbLoading.of("unknown"));
+	}
+
 	@Test
 	public void testDecodeArrayBuffer() {
 		Uint8Array data = Support.decode("VGhlIHF1");
@@ -41,6 +195,200 @@ public class GwtSupportTest extends GWTTestCase {
 		assertEquals(0x75, data.get(5));
 	}
 
+	@Test
+	public void testDecodeBase64() {
+		ByteBuffer data = TypedArrayHelper.wrap(Support.decodeArrayBuffer("VGhlIHF1"));
+		assertEquals(6, data.remaining());
+		assertEquals(0x54, data.get(0));
+		assertEquals(0x75, data.get(5));
+	}
+
+	@Test
+	public void testDecodeBenchmark() {
+		String tzdb = BUNDLE.tzdbEncoded().getText();
+		float start = Support.getTimestamp();
+		for (int i = 0; i < ROUNDS; i++) {
+			SupportJs.decodeArrayBuffer(tzdb);
+		}
+		float legacyTime = (Support.getTimestamp() - start) / ROUNDS;
+		start = Support.getTimestamp();
+		for (int i = 0; i < ROUNDS; i++) {
+			Support.decodeArrayBuffer(tzdb);
+		}
+		float nativeTime = (Support.getTimestamp() - start) / ROUNDS;
+		LOGGER.info("TZDB decode ({} chars), Base64Binary: {} ms, atob: {} ms", tzdb.length(), legacyTime,
+				nativeTime);
+		ByteBuffer legacy = TypedArrayHelper.wrap(SupportJs.decodeArrayBuffer(tzdb));
+		ByteBuffer fast = TypedArrayHelper.wrap(Support.decodeArrayBuffer(tzdb));
+		// Base64Binary keeps the padding bytes at the end
+		legacy.limit(fast.remaining());
+		assertEquals(legacy, fast);
+	}
+
+	@Test
+	public void testTzdbVersion() {
+		String version = Support.getTzdbVersion();
+		assertTrue(version, version.matches("\\d{4}[a-z]"));
+		// the rebuilt data of the same version get another key
+		String url = BUNDLE.tzdb().getSafeUri().asString();
+		String key = Support.getTzdbKey(url);
+		assertTrue(key, key.startsWith(version + "-"));
+		assertEquals(key, Support.getTzdbKey(url));
+		assertFalse(key.equals(Support.getTzdbKey(url.replace(".dat", ".bin"))));
+	}
+
+	@Test
+	public void testTzdbStore() {
+		MemoryTzdbStore store = new MemoryTzdbStore();
+		int[] decoded = new int[1];
+		Supplier<ArrayBuffer> source = () -> {
+			decoded[0]++;
+			return Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText());
+		};
+		ZoneRulesProvider provider = Support.loadProvider(store, "2020a", source);
+		assertEquals(ZoneRulesProvider.getRules("Europe/Paris", false),
+				ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		provider = Support.loadProvider(store, "2020a", source);
+		assertEquals(ZoneRulesProvider.getRules("Europe/Paris", false),
+				ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		assertEquals(1, decoded[0]);
+		// new version replaces the stored one
+		Support.loadProvider(store, "2020b", source);
+		assertEquals(2, decoded[0]);
+		assertNull(store.load("2020a"));
+		assertEquals(Arrays.asList("load 2020a", "store 2020a", "load 2020a", "load 2020b", "store 2020b", "load 2020a"),
+				store.getCalls());
+	}
+
+	@Test
+	public void testTzdbStoreInvalid() {
+		MemoryTzdbStore store = new MemoryTzdbStore();
+		store.store("2020a", Support.decodeArrayBuffer("VGhlIHF1"));
+		int[] decoded = new int[1];
+		ZoneRulesProvider provider = Support.loadProvider(store, "2020a", () -> {
+			decoded[0]++;
+			return Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText());
+		});
+		assertEquals(1, decoded[0]);
+		assertNotNull(ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		assertEquals(Arrays.asList("store 2020a", "load 2020a", "remove 2020a", "store 2020a"), store.getCalls());
+	}
+
+	@Test
+	public void testLocalStorageTzdbStore() {
+		LocalStorageTzdbStore store = new LocalStorageTzdbStore("gwt.time.tzdb.test.");
+		store.remove("2020a");
+		assertNull(store.load("2020a"));
+		ArrayBuffer buffer = Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText());
+		store.store("2020a", buffer);
+		ArrayBuffer stored = store.load("2020a");
+		if (stored != null) {
+			// localStorage may be disabled
+			assertEquals(TypedArrayHelper.wrap(buffer), TypedArrayHelper.wrap(stored));
+		}
+		store.remove("2020a");
+		assertNull(store.load("2020a"));
+	}
+
+	@Test
+	public void testDisplaySymbols() {
+		DateTimeSymbols symbols = Support.displaySymbols("de-DE");
+		String[] styles = { "long", "short", "narrow" };
+		assertEquals(6, symbols.months.length);
+		assertEquals(6, symbols.weekdays.length);
+		assertEquals(3, symbols.eras.length);
+		assertEquals(3, symbols.ampm.length);
+		for (int i = 0; i < styles.length; i++) {
+			assertEquals(Arrays.asList(Support.displayMonths(styles[i], false, "de-DE")), Arrays.asList(symbols.months[i * 2]));
+			assertEquals(Arrays.asList(Support.displayMonths(styles[i], true, "de-DE")), Arrays.asList(symbols.months[i * 2 + 1]));
+			assertEquals(Arrays.asList(Support.displayWeekdays(styles[i], false, "de-DE")), Arrays.asList(symbols.weekdays[i * 2]));
+			assertEquals(Arrays.asList(Support.displayWeekdays(styles[i], true, "de-DE")), Arrays.asList(symbols.weekdays[i * 2 + 1]));
+			assertEquals(Arrays.asList(Support.displayEras(styles[i], "de-DE")), Arrays.asList(symbols.eras[i]));
+			assertEquals(Arrays.asList(Support.displayAmpm(styles[i], "de-DE")), Arrays.asList(symbols.ampm[i]));
+		}
+		assertEquals("Januar", symbols.months[0][0]);
+		assertEquals("Montag", symbols.weekdays[0][0]);
+	}
+
+	@Test
+	public void testDisplaySymbolsBenchmark() {
+		String[] styles = { "long", "short", "narrow" };
+		float start = Support.getTimestamp();
+		for (int i = 0; i < ROUNDS; i++) {
+			for (String style : styles) {
+				Support.displayMonths(style, false, "fr-FR");
+				Support.displayMonths(style, true, "fr-FR");
+				Support.displayWeekdays(style, false, "fr-FR");
+				Support.displayWeekdays(style, true, "fr-FR");
+				Support.displayEras(style, "fr-FR");
+				Support.displayAmpm(style, "fr-FR");
+			}
+		}
+		float separateTime = (Support.getTimestamp() - start) / ROUNDS;
+		start = Support.getTimestamp();
+		for (int i = 0; i < ROUNDS; i++) {
+			Support.displaySymbols("fr-FR");
+		}
+		float bulkTime = (Support.getTimestamp() - start) / ROUNDS;
+		LOGGER.info("Locale symbols, separate calls: {} ms, one call: {} ms", separateTime, bulkTime);
+	}
+
+	@Test
+	public void testCldrSymbols() {
+		// the test module compiles the default (English) permutation only
+		assertEquals("en", CldrSymbols.getLocale());
+		assertTrue(CldrSymbols.supports("en"));
+		assertTrue(CldrSymbols.supports("en-US"));
+		assertFalse(CldrSymbols.supports("de-DE"));
+		DateTimeSymbols symbols = CldrSymbols.displaySymbols();
+		assertEquals(6, symbols.months.length);
+		assertEquals(6, symbols.weekdays.length);
+		assertEquals("January", symbols.months[0][0]);
+		assertEquals("Monday", symbols.weekdays[0][0]);
+		assertEquals("Sunday", symbols.weekdays[0][6]);
+		assertEquals("AM", symbols.ampm[0][0]);
+		DecimalProperty number = CldrSymbols.displayNumber();
+		assertEquals("0", number.zeroDigit);
+		assertEquals(".", number.decimalSeparator);
+	}
+
+	@Test
+	public void testFormatCache() {
+		Support.clearFormatCache();
+		String winter = Support.displayTimeZone(false, "Europe/Prague", "short", "de-DE");
+		String summer = Support.displayTimeZone(true, "Europe/Prague", "short", "de-DE");
+		FormatCacheStats stats = Support.getFormatCacheStats();
+		assertEquals(1, stats.misses);
+		assertEquals(1, stats.hits);
+		assertEquals(1, stats.size);
+		// the cached formatter gives the same texts
+		assertEquals(winter, Support.displayTimeZone(false, "Europe/Prague", "short", "de-DE"));
+		assertEquals(summer, Support.displayTimeZone(true, "Europe/Prague", "short", "de-DE"));
+		Support.displayTimeZone(false, "Europe/Prague", "long", "de-DE");
+		stats = Support.getFormatCacheStats();
+		assertEquals(2, stats.misses);
+		assertEquals(3, stats.hits);
+		Support.clearFormatCache();
+		assertEquals(0, Support.getFormatCacheStats().size);
+	}
+
+	@Test
+	public void testFormatCacheBenchmark() {
+		Support.clearFormatCache();
+		float start = Support.getTimestamp();
+		for (String zone : ZoneIdSnapshot.get().getIds()) {
+			Support.displayTimeZone(false, zone, "long", "en-US");
+		}
+		float missTime = Support.getTimestamp() - start;
+		start = Support.getTimestamp();
+		for (String zone : ZoneIdSnapshot.get().getIds()) {
+			Support.displayTimeZone(false, zone, "long", "en-US");
+		}
+		float hitTime = Support.getTimestamp() - start;
+		LOGGER.info("Time-zone names of all the zones, new formatters: {} ms, cached formatters: {} ms, {}/{}",
+				missTime, hitTime, Support.getFormatCacheStats().hits, Support.getFormatCacheStats().misses);
+	}
+
 	@Test
 	public void testDisplayTimeZone() {
 		boolean daylight = false;
@@ -45,6 +45,9 @@ import org.jresearch.threetenbp.gwt.client.zone.TestFixedZoneRules;
 import org.jresearch.threetenbp.gwt.client.zone.TestStandardZoneRules;
 import org.jresearch.threetenbp.gwt.client.zone.TestZoneOffsetTransition;
 import org.jresearch.threetenbp.gwt.client.zone.TestZoneOffsetTransitionRule;
+import org.jresearch.threetenbp.gwt.client.zone.TestTzdbZoneRulesProvider;
+import org.jresearch.threetenbp.gwt.client.zone.TestTzifZoneRulesProvider;
+import org.jresearch.threetenbp.gwt.client.zone.TestIntlZoneRulesProvider;
 import org.jresearch.threetenbp.gwt.client.zone.TestZoneRulesProvider;
 
 import com.google.gwt.junit.tools.GWTTestSuite;
@@ -79,6 +82,7 @@ public class GwtTreetenBpSuite {
 		suite.addTestSuite(TestPeriod.class);
 		suite.addTestSuite(TestZonedDateTime.class);
 		suite.addTestSuite(TestZoneId.class);
+		suite.addTestSuite(TestZoneIdSnapshot.class);
 		suite.addTestSuite(TestZoneOffset.class);
 		suite.addTestSuite(TestChronoLocalDate.class);
 		suite.addTestSuite(TestChronoLocalDateTime.class);
@@ -103,6 +107,9 @@ public class GwtTreetenBpSuite {
 		suite.addTestSuite(TestZoneOffsetTransitionRule.class);
 //		suite.addTestSuite(TestZoneRulesBuilder.class);
 		suite.addTestSuite(TestZoneRulesProvider.class);
+		suite.addTestSuite(TestTzdbZoneRulesProvider.class);
+		suite.addTestSuite(TestIntlZoneRulesProvider.class);
+		suite.addTestSuite(TestTzifZoneRulesProvider.class);
 		suite.addTestSuite(TestDateTimeFormatter.class);
 		suite.addTestSuite(TestCharLiteralParser.class);
 		suite.addTestSuite(TestCharLiteralPrinter.class);
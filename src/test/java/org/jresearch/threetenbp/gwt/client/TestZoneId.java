@@ -49,6 +49,8 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Test ZoneId.
@@ -56,6 +58,8 @@ import org.junit.Test;
 //@Test
 public class TestZoneId extends AbstractTest {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestZoneId.class);
+
 	private static ZoneId ZONE_PARIS;
 	public static final String LATEST_TZDB = "2010i";
 	private static final int OVERLAP = 2;
@@ -182,6 +186,24 @@ public class TestZoneId extends AbstractTest {
 //		assertEquals(test.getId(), TimeZone.getDefault().getID());
 //	}
 
+	public void test_systemDefault_cached() {
+		ZoneId zone = ZoneId.systemDefault();
+		assertEquals(Support.getTimezone(), zone.getId());
+		assertSame(zone, ZoneId.systemDefault());
+		// the browser zone does not change during the test
+		assertFalse(Support.refreshTimezone());
+		assertSame(zone, ZoneId.systemDefault());
+	}
+
+	public void test_benchmark_systemDefault() {
+		int count = 100_000;
+		float start = Support.getTimestamp();
+		for (int i = 0; i < count; i++) {
+			LocalDateTime.now();
+		}
+		LOGGER.info("LocalDateTime.now(), {} calls: {} ms", count, Support.getTimestamp() - start);
+	}
+
 	//GWT no TimeZone
 //	@Test(expected = DateTimeException.class)
 //	public void test_systemDefault_unableToConvert_badFormat() {
@@ -473,6 +495,32 @@ public class TestZoneId extends AbstractTest {
 		}
 	}
 
+	// -----------------------------------------------------------------------
+	public void test_of_string_invalid_partial() {
+		// the whole ID must match the format, not a part of it
+		test_of_string_invalid("Europe/Paris#");
+		test_of_string_invalid("#Europe/Paris");
+		test_of_string_invalid("0Europe/Paris");
+		test_of_string_invalid("Europe Paris");
+	}
+
+	// -----------------------------------------------------------------------
+	public void test_of_string_interned() {
+		assertSame(ZoneId.of("Europe/London"), ZoneId.of("Europe/London"));
+		assertSame(ZONE_PARIS, ZoneId.of("Europe/Paris"));
+		assertNotSame(ZoneId.of("Europe/London"), ZoneId.of("Europe/Paris"));
+	}
+
+	public void test_benchmark_of_string() {
+		String[] ids = { "Europe/London", "Europe/Paris", "America/New_York", "Asia/Tokyo" };
+		int count = 100_000;
+		float start = Support.getTimestamp();
+		for (int i = 0; i < count; i++) {
+			ZoneId.of(ids[i % ids.length]);
+		}
+		LOGGER.info("ZoneId.of, {} calls: {} ms", count, Support.getTimestamp() - start);
+	}
+
 	// -----------------------------------------------------------------------
 	public void test_of_string_GMT0() {
 		ZoneId test = ZoneId.of("GMT0");
@@ -0,0 +1,96 @@
+package org.jresearch.threetenbp.gwt.client;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test ZoneIdSnapshot.
+ */
+public class TestZoneIdSnapshot extends AbstractTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestZoneIdSnapshot.class);
+
+	@Test
+	public void test_get() {
+		ZoneIdSnapshot snapshot = ZoneIdSnapshot.get();
+		assertSame(snapshot, ZoneIdSnapshot.get());
+		assertEquals(ZoneId.getAvailableZoneIds(), snapshot.getIdSet());
+		List<String> sorted = new ArrayList<>(ZoneId.getAvailableZoneIds());
+		Collections.sort(sorted);
+		assertEquals(sorted, snapshot.getIds());
+		assertTrue(snapshot.contains("Europe/Paris"));
+		assertFalse(snapshot.contains("Europe/Unknown"));
+	}
+
+	@Test
+	public void test_immutable() {
+		try {
+			ZoneIdSnapshot.get().getIds().add("Europe/Unknown");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			ZoneIdSnapshot.get().getIdSet().remove("Europe/Paris");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void test_getIdsWithPrefix() {
+		List<String> europe = ZoneIdSnapshot.get().getIdsWithPrefix("Europe/");
+		assertTrue(europe.contains("Europe/Paris"));
+		for (String id : europe) {
+			assertTrue(id, id.startsWith("Europe/"));
+		}
+		int count = 0;
+		for (String id : ZoneId.getAvailableZoneIds()) {
+			if (id.startsWith("Europe/")) {
+				count++;
+			}
+		}
+		assertEquals(count, europe.size());
+		assertTrue(ZoneIdSnapshot.get().getIdsWithPrefix("Unknown/").isEmpty());
+	}
+
+	@Test
+	public void test_findIgnoreCase() {
+		assertEquals("Europe/Paris", ZoneIdSnapshot.get().findIgnoreCase("europe/PARIS"));
+		assertEquals("America/New_York", ZoneIdSnapshot.get().findIgnoreCase("AMERICA/NEW_YORK"));
+		assertNull(ZoneIdSnapshot.get().findIgnoreCase("europe/unknown"));
+	}
+
+	@Test
+	public void test_parse_caseInsensitive() {
+		DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendZoneId()
+				.toFormatter();
+		assertEquals(ZoneId.of("Europe/Paris"), formatter.parse("europe/paris", ZoneId::from));
+	}
+
+	@Test
+	public void test_benchmark_getAvailableZoneIds() {
+		int count = 1000;
+		float start = Support.getTimestamp();
+		for (int i = 0; i < count; i++) {
+			ZoneId.getAvailableZoneIds().contains("Europe/Paris");
+		}
+		float copyTime = Support.getTimestamp() - start;
+		start = Support.getTimestamp();
+		for (int i = 0; i < count; i++) {
+			ZoneIdSnapshot.get().contains("Europe/Paris");
+		}
+		LOGGER.info("Zone ID lookup, {} calls, copy: {} ms, snapshot: {} ms", count, copyTime,
+				Support.getTimestamp() - start);
+	}
+
+}
@@ -38,6 +38,7 @@ import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
 import static java.time.temporal.ChronoField.YEAR;
 
 import java.text.ParsePosition;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.SignStyle;
@@ -457,6 +458,55 @@ public class TestDateTimeFormatterBuilder extends AbstractTest {
 		assertEquals(f.toString(), "Text(MonthOfYear)"); // TODO: toString should be different?
 	}
 
+	@Test
+	public void test_appendTextMap_print_sparse() throws Exception {
+		Map<Long, String> map = new HashMap<Long, String>();
+		map.put(-1000L, "Minus1000");
+		map.put(2000L, "Y2K");
+		map.put(999_999_999L, "Last");
+		DateTimeFormatter f = builder.appendText(YEAR, map).toFormatter();
+		assertEquals("Y2K", f.format(LocalDate.of(2000, 1, 1)));
+		assertEquals("Minus1000", f.format(LocalDate.of(-1000, 1, 1)));
+		assertEquals("Last", f.format(LocalDate.of(999_999_999, 1, 1)));
+		assertEquals("2001", f.format(LocalDate.of(2001, 1, 1)));
+	}
+
+	@Test
+	public void test_appendTextMap_print_dense() throws Exception {
+		Map<Long, String> map = new HashMap<Long, String>();
+		map.put(1999L, "Y1999");
+		map.put(2000L, "Y2K");
+		DateTimeFormatter f = builder.appendText(YEAR, map).toFormatter();
+		assertEquals("Y1999", f.format(LocalDate.of(1999, 1, 1)));
+		assertEquals("Y2K", f.format(LocalDate.of(2000, 1, 1)));
+		assertEquals("1998", f.format(LocalDate.of(1998, 1, 1)));
+		assertEquals("2001", f.format(LocalDate.of(2001, 1, 1)));
+	}
+
+	@Test
+	public void test_appendTextMap_parse_longest() throws Exception {
+		Map<Long, String> map = new HashMap<Long, String>();
+		map.put(1L, "I");
+		map.put(2L, "II");
+		map.put(3L, "III");
+		map.put(4L, "IV");
+		map.put(5L, "V");
+		map.put(6L, "VI");
+		map.put(7L, "VII");
+		map.put(8L, "VIII");
+		map.put(9L, "IX");
+		map.put(10L, "X");
+		map.put(11L, "XI");
+		map.put(12L, "XII");
+		DateTimeFormatter f = builder.parseCaseInsensitive().appendText(MONTH_OF_YEAR, map).toFormatter();
+		for (Map.Entry<Long, String> entry : map.entrySet()) {
+			ParsePosition pos = new ParsePosition(0);
+			TemporalAccessor parsed = f.parseUnresolved(entry.getValue().toLowerCase() + "-", pos);
+			assertEquals(entry.getValue(), entry.getKey().longValue(), parsed.getLong(MONTH_OF_YEAR));
+			assertEquals(entry.getValue(), entry.getValue().length(), pos.getIndex());
+		}
+	}
+
 	@Test(expected = NullPointerException.class)
 	public void test_appendTextMap_nullRule() throws Exception {
 		try {
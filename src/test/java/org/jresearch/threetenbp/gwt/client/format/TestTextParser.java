@@ -377,6 +377,15 @@ public class TestTextParser extends AbstractTestPrinterParser {
 		assertParsed(parseContext, MONTH_OF_YEAR, 1L);
 	}
 
+	public void test_parse_full_lenient_caseInsensitive_longest_match() throws Exception {
+		parseContext.setStrict(false);
+		parseContext.setCaseSensitive(false);
+		TextPrinterParserTestWrapper pp = new TextPrinterParserTestWrapper(MONTH_OF_YEAR, TextStyle.FULL, PROVIDER);
+		int newPos = pp.parse(parseContext, "xSEPTEMBERx", 1);
+		assertEquals(newPos, 10);
+		assertParsed(parseContext, MONTH_OF_YEAR, 9L);
+	}
+
 	// -----------------------------------------------------------------------
 	public void test_parse_short_lenient_full_match() throws Exception {
 		parseContext.setStrict(false);
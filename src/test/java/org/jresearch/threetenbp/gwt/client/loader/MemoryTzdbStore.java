@@ -0,0 +1,41 @@
+package org.jresearch.threetenbp.gwt.client.loader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import elemental2.core.ArrayBuffer;
+
+/**
+ * In memory {@link TzdbStore} stand-in, records the calls
+ */
+public class MemoryTzdbStore implements TzdbStore {
+
+	private final Map<String, ArrayBuffer> data = new HashMap<>();
+	private final List<String> calls = new ArrayList<>();
+
+	@Override
+	public ArrayBuffer load(String version) {
+		calls.add("load " + version);
+		return data.get(version);
+	}
+
+	@Override
+	public void store(String version, ArrayBuffer buffer) {
+		calls.add("store " + version);
+		data.clear();
+		data.put(version, buffer);
+	}
+
+	@Override
+	public void remove(String version) {
+		calls.add("remove " + version);
+		data.remove(version);
+	}
+
+	public List<String> getCalls() {
+		return calls;
+	}
+
+}
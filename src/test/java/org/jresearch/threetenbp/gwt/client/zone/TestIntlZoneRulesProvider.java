@@ -0,0 +1,105 @@
+package org.jresearch.threetenbp.gwt.client.zone;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.Providers;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.time.zone.ZoneRulesProvider;
+import java.time.zone.ZoneRulesProviders;
+
+import org.gwtproject.nio.TypedArrayHelper;
+import org.jresearch.threetenbp.gwt.client.AbstractTest;
+import org.jresearch.threetenbp.gwt.client.Support;
+import org.jresearch.threetenbp.gwt.client.loader.IntlZoneOffsetProbe;
+import org.jresearch.threetenbp.gwt.client.loader.TimeJsBundle;
+import org.jresearch.threetenbp.gwt.client.loader.ZoneOffsetProbe;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Test IntlZoneRulesProvider against the bundled TZDB.
+ */
+public class TestIntlZoneRulesProvider extends AbstractTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestIntlZoneRulesProvider.class);
+
+	private static final TimeJsBundle BUNDLE = GWT.create(TimeJsBundle.class);
+
+	/**
+	 * Zones without rule changes since the bundled TZDB version
+	 */
+	private static final String[] ZONES = { "Europe/London", "Europe/Paris", "America/New_York",
+			"America/Los_Angeles", "America/Sao_Paulo", "Asia/Tokyo", "Asia/Kolkata", "Australia/Sydney",
+			"Pacific/Auckland", "UTC" };
+
+	private static ZoneRulesProvider tzdb() {
+		return Providers.of(TypedArrayHelper.wrap(Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText())));
+	}
+
+	@Test
+	public void test_rules() {
+		// offsets from the bundled TZDB, no dependency on the browser data
+		ZoneRulesProvider tzdb = tzdb();
+		ZoneOffsetProbe probe = (zoneId, epochSecond) -> ZoneRulesProviders.getRules(tzdb, zoneId)
+				.getOffset(Instant.ofEpochSecond((long) epochSecond)).getTotalSeconds();
+		ZoneRulesProvider provider = Providers.ofIntl(BUNDLE.tzdbIndex().getText(), probe);
+		for (String zone : ZONES) {
+			assertConforms(zone, ZoneRulesProviders.getRules(tzdb, zone), ZoneRulesProviders.getRules(provider, zone));
+		}
+	}
+
+	@Test
+	public void test_conformance() {
+		ZoneRulesProvider tzdb = tzdb();
+		ZoneRulesProvider provider = Providers.ofIntl(BUNDLE.tzdbIndex().getText(), new IntlZoneOffsetProbe());
+		for (String zone : ZONES) {
+			float start = Support.getTimestamp();
+			ZoneRules rules = ZoneRulesProviders.getRules(provider, zone);
+			LOGGER.info("Intl rules of {}: {} ms", zone, Support.getTimestamp() - start);
+			assertConforms(zone, ZoneRulesProviders.getRules(tzdb, zone), rules);
+		}
+	}
+
+	@Test
+	public void test_unknown() {
+		ZoneRulesProvider provider = Providers.ofIntl(BUNDLE.tzdbIndex().getText(), new IntlZoneOffsetProbe());
+		assertSame(ZoneRulesProviders.getRules(provider, "Europe/Paris"),
+				ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		try {
+			ZoneRulesProviders.getRules(provider, "Europe/Unknown");
+			fail();
+		} catch (ZoneRulesException ex) {
+			// expected
+		}
+	}
+
+	private static void assertConforms(String zone, ZoneRules expected, ZoneRules rules) {
+		// the extrapolated rules included
+		for (int year = 1970; year < 2050; year++) {
+			for (int month = 1; month <= 12; month++) {
+				LocalDateTime dt = LocalDateTime.of(year, month, 1, 2, 30);
+				Instant instant = dt.toInstant(ZoneOffset.UTC);
+				assertEquals(zone + " " + dt, expected.getOffset(instant), rules.getOffset(instant));
+				assertEquals(zone + " " + dt, expected.getValidOffsets(dt), rules.getValidOffsets(dt));
+			}
+		}
+		for (ZoneOffsetTransition trans : expected.getTransitions()) {
+			Instant instant = trans.getInstant();
+			if (trans.getDateTimeBefore().getYear() >= 1970) {
+				assertEquals(zone + " " + trans, expected.getOffset(instant), rules.getOffset(instant));
+				assertEquals(zone + " " + trans, expected.getOffset(instant.minusSeconds(1)),
+						rules.getOffset(instant.minusSeconds(1)));
+				// the first local date-time of the gap or the overlap
+				LocalDateTime local = trans.isGap() ? trans.getDateTimeBefore() : trans.getDateTimeAfter();
+				assertEquals(zone + " " + trans, trans, rules.getTransition(local));
+			}
+		}
+	}
+
+}
@@ -50,7 +50,10 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.jresearch.threetenbp.gwt.client.AbstractTest;
+import org.jresearch.threetenbp.gwt.client.Support;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Test ZoneRules.
@@ -58,6 +61,8 @@ import org.junit.Test;
 //@Test
 public class TestStandardZoneRules extends AbstractTest {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestStandardZoneRules.class);
+
 	private static final ZoneOffset OFFSET_ZERO = ZoneOffset.ofHours(0);
 	private static final ZoneOffset OFFSET_PONE = ZoneOffset.ofHours(1);
 	private static final ZoneOffset OFFSET_PTWO = ZoneOffset.ofHours(2);
@@ -103,6 +108,146 @@ public class TestStandardZoneRules extends AbstractTest {
 		assertNull(etcGmt().previousTransition(Instant.EPOCH));
 	}
 
+	// -----------------------------------------------------------------------
+	// Last rules
+	// -----------------------------------------------------------------------
+	public void test_lastRules_years() {
+		for (ZoneRules test : new ZoneRules[] { europeLondon(), europeParis(), americaNewYork() }) {
+			List<ZoneOffsetTransitionRule> rules = test.getTransitionRules();
+			assertEquals(2, rules.size());
+			// cached and not cached years, twice to hit the cache
+			for (int i = 0; i < 2; i++) {
+				for (int year = 2008; year < 2110; year++) {
+					for (ZoneOffsetTransitionRule rule : rules) {
+						ZoneOffsetTransition trans = rule.createTransition(year);
+						Instant instant = trans.getInstant();
+						assertEquals(trans.getOffsetBefore(), test.getOffset(instant.minusSeconds(1)));
+						assertEquals(trans.getOffsetAfter(), test.getOffset(instant));
+						assertEquals(trans, test.nextTransition(instant.minusSeconds(1)));
+						assertEquals(trans, test.previousTransition(instant.plusSeconds(1)));
+						assertEquals(trans, test.getTransition(trans.getDateTimeBefore()));
+					}
+					assertFalse(test.isDaylightSavings(createInstant(year, 1, 1, ZoneOffset.UTC)));
+					assertTrue(test.isDaylightSavings(createInstant(year, 7, 1, ZoneOffset.UTC)));
+				}
+			}
+		}
+	}
+
+	// -----------------------------------------------------------------------
+	// Consecutive calls, the last offset window
+	// -----------------------------------------------------------------------
+	public void test_getOffset_consecutive() {
+		ZoneRules test = europeParis();
+		Instant start = createInstant(2020, 1, 1, ZoneOffset.UTC);
+		ZoneOffset previous = null;
+		int changes = 0;
+		for (int hour = 0; hour < 366 * 24; hour++) {
+			ZoneOffset offset = test.getOffset(start.plusSeconds(hour * 3600L));
+			if (previous != null && !offset.equals(previous)) {
+				changes++;
+			}
+			previous = offset;
+		}
+		assertEquals(2, changes);
+		// the window ends exactly at the transition, from both sides
+		ZoneOffsetTransition trans = test.nextTransition(start);
+		assertEquals(OFFSET_PONE, test.getOffset(trans.getInstant().minusSeconds(1)));
+		assertEquals(OFFSET_PTWO, test.getOffset(trans.getInstant()));
+		assertEquals(OFFSET_PONE, test.getOffset(trans.getInstant().minusSeconds(1)));
+		// historic rules and back
+		assertEquals(OFFSET_ZERO, test.getOffset(createInstant(1920, 1, 1, ZoneOffset.UTC)));
+		assertEquals(OFFSET_PONE, test.getOffset(start));
+		assertEquals(OFFSET_ZERO, test.getOffset(createInstant(1920, 1, 1, ZoneOffset.UTC)));
+	}
+
+	public void test_benchmark_getOffset() {
+		ZoneRules test = europeParis();
+		Instant start = createInstant(2020, 1, 1, ZoneOffset.UTC);
+		int hours = 366 * 24;
+		Instant[] sorted = new Instant[hours];
+		Instant[] alternating = new Instant[hours];
+		for (int hour = 0; hour < hours; hour++) {
+			sorted[hour] = start.plusSeconds(hour * 3600L);
+			// January and July in turn, every call leaves the window of the previous one
+			alternating[hour] = start.plusSeconds((hour / 2 + (hour % 2) * hours / 2) * 3600L);
+		}
+		float sortedTime = 0;
+		float alternatingTime = 0;
+		for (int i = 0; i < 10; i++) {
+			float begin = Support.getTimestamp();
+			for (Instant instant : sorted) {
+				ZonedDateTime.ofInstant(instant, ZoneId.of("Europe/Paris"));
+			}
+			sortedTime += Support.getTimestamp() - begin;
+			begin = Support.getTimestamp();
+			for (Instant instant : alternating) {
+				ZonedDateTime.ofInstant(instant, ZoneId.of("Europe/Paris"));
+			}
+			alternatingTime += Support.getTimestamp() - begin;
+		}
+		LOGGER.info("ZonedDateTime.ofInstant for a year of hourly instants, sorted: {} ms, alternating: {} ms",
+				sortedTime / 10, alternatingTime / 10);
+		assertEquals(test.getOffset(sorted[hours - 1]), test.getOffset(alternating[hours - 1]));
+	}
+
+	public void test_getOffsetInfo_consecutive() {
+		ZoneRules test = europeParis();
+		LocalDateTime start = createLDT(2020, 1, 1);
+		int gaps = 0;
+		int overlaps = 0;
+		for (int minutes = 0; minutes < 366 * 24 * 60; minutes += 30) {
+			LocalDateTime dt = start.plusMinutes(minutes);
+			List<ZoneOffset> offsets = test.getValidOffsets(dt);
+			if (offsets.isEmpty()) {
+				gaps++;
+				assertTrue(test.getTransition(dt).isGap());
+			} else if (offsets.size() == 2) {
+				overlaps++;
+				assertTrue(test.getTransition(dt).isOverlap());
+			} else {
+				assertNull(test.getTransition(dt));
+			}
+		}
+		// 02:00 and 02:30 on 29 March, 02:00 and 02:30 on 25 October
+		assertEquals(2, gaps);
+		assertEquals(2, overlaps);
+		// the window ends exactly at the gap, from both sides
+		LocalDateTime gap = LocalDateTime.of(2020, 3, 29, 2, 0);
+		checkOffset(test, gap.minusNanos(1), OFFSET_PONE, 1);
+		checkOffset(test, gap, OFFSET_PONE, GAP);
+		checkOffset(test, gap.minusNanos(1), OFFSET_PONE, 1);
+		checkOffset(test, gap.plusHours(1), OFFSET_PTWO, 1);
+		checkOffset(test, gap.plusHours(1).minusNanos(1), OFFSET_PONE, GAP);
+		// historic rules and back
+		checkOffset(test, createLDT(1920, 1, 1), OFFSET_ZERO, 1);
+		checkOffset(test, start, OFFSET_PONE, 1);
+		checkOffset(test, createLDT(1920, 1, 1), OFFSET_ZERO, 1);
+	}
+
+	public void test_benchmark_ZonedDateTime_of() {
+		ZoneId zone = ZoneId.of("Europe/Paris");
+		LocalDateTime start = createLDT(2020, 1, 1);
+		int slots = 366 * 24 * 4;
+		float sortedTime = 0;
+		float alternatingTime = 0;
+		for (int i = 0; i < 10; i++) {
+			float begin = Support.getTimestamp();
+			for (int slot = 0; slot < slots; slot++) {
+				ZonedDateTime.of(start.plusMinutes(slot * 15), zone);
+			}
+			sortedTime += Support.getTimestamp() - begin;
+			begin = Support.getTimestamp();
+			for (int slot = 0; slot < slots; slot++) {
+				// January and July in turn, every call leaves the window of the previous one
+				ZonedDateTime.of(start.plusMinutes((slot / 2 + (slot % 2) * slots / 2) * 15), zone);
+			}
+			alternatingTime += Support.getTimestamp() - begin;
+		}
+		LOGGER.info("ZonedDateTime.of for a year of 15 minutes slots, sorted: {} ms, alternating: {} ms",
+				sortedTime / 10, alternatingTime / 10);
+	}
+
 	// -----------------------------------------------------------------------
 	// Europe/London
 	// -----------------------------------------------------------------------
@@ -0,0 +1,466 @@
+package org.jresearch.threetenbp.gwt.client.zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ChunkedTzdbZoneRulesProvider;
+import java.time.zone.Providers;
+import java.time.zone.Sers;
+import java.time.zone.TzdbStreamParser;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.time.zone.ZoneRulesProvider;
+import java.time.zone.ZoneRulesProviders;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.gwtproject.nio.TypedArrayHelper;
+import org.gwtproject.typedarrays.client.ArrayBufferNative;
+import org.gwtproject.typedarrays.client.Int8ArrayNative;
+import org.jresearch.threetenbp.gwt.client.AbstractTest;
+import org.jresearch.threetenbp.gwt.client.Support;
+import org.jresearch.threetenbp.gwt.client.loader.TimeJsBundle;
+import org.jresearch.threetenbp.gwt.client.loader.TzdbChunkLoader;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.resources.client.ClientBundle;
+import com.google.gwt.resources.client.TextResource;
+
+import elemental2.core.ArrayBuffer;
+
+/**
+ * Test TzdbZoneRulesProvider loading.
+ */
+public class TestTzdbZoneRulesProvider extends AbstractTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestTzdbZoneRulesProvider.class);
+
+	interface TestBundle extends ClientBundle {
+		/**
+		 * The zones of {@link TestTzdbZoneRulesProvider#ZONES} in the v1 format
+		 */
+		@Source("TZDB-v1.txt")
+		TextResource tzdbV1();
+	}
+
+	private static final TimeJsBundle BUNDLE = GWT.create(TimeJsBundle.class);
+	private static final TestBundle TEST_BUNDLE = GWT.create(TestBundle.class);
+
+	private static final String[] ZONES = { "Europe/London", "Europe/Paris", "America/New_York", "Asia/Tokyo",
+			"Australia/Sydney", "Africa/Cairo" };
+
+	private static final int ROUNDS = 10;
+
+	private static ArrayBuffer tzdb() {
+		return Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText());
+	}
+
+	@Test
+	public void test_load() {
+		ZoneRulesProvider provider = Providers.of(TypedArrayHelper.wrap(tzdb()));
+		assertEquals("TZDB", provider.toString());
+		for (String zone : ZONES) {
+			assertEquals(ZoneRulesProvider.getRules(zone, false), ZoneRulesProviders.getRules(provider, zone));
+		}
+	}
+
+	@Test
+	public void test_load_v1() {
+		ArrayBuffer buffer = Support.decodeArrayBuffer(TEST_BUNDLE.tzdbV1().getText());
+		assertEquals(1, TypedArrayHelper.wrap(buffer).get());
+		ZoneRulesProvider provider = Providers.of(TypedArrayHelper.wrap(buffer));
+		for (String zone : ZONES) {
+			assertEquals(ZoneRulesProvider.getRules(zone, false), ZoneRulesProviders.getRules(provider, zone));
+		}
+	}
+
+	@Test
+	public void test_load_v2() {
+		assertEquals(2, TypedArrayHelper.wrap(tzdb()).get());
+		test_load();
+	}
+
+	@Test
+	public void test_chunked() {
+		ArrayBuffer buffer = tzdb();
+		List<String> loaded = new ArrayList<>();
+		TzdbChunkLoader loader = new TzdbChunkLoader() {
+			@Override
+			public ByteBuffer load(String chunk) {
+				loaded.add(chunk);
+				return TypedArrayHelper.wrap(buffer);
+			}
+
+			@Override
+			public void load(String chunk, Consumer<ByteBuffer> callback) {
+				callback.accept(load(chunk));
+			}
+		};
+		String index = chunkIndex("Africa,America,Antarctica,Asia,Atlantic,Australia,Europe,Indian,Pacific,Other");
+		ChunkedTzdbZoneRulesProvider provider = Providers.ofChunks(index, loader);
+		assertTrue(loaded.isEmpty());
+		assertEquals(ZoneRulesProvider.getRules("Europe/Paris", false),
+				ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		assertEquals(ZoneRulesProvider.getRules("Europe/London", false),
+				ZoneRulesProviders.getRules(provider, "Europe/London"));
+		assertEquals(Arrays.asList("Europe"), loaded);
+		provider.prefetch("Asia/Tokyo");
+		provider.prefetch("Asia/Tokyo");
+		assertTrue(provider.isLoaded("Asia/Tokyo"));
+		assertEquals(ZoneRulesProvider.getRules("UTC", false), ZoneRulesProviders.getRules(provider, "UTC"));
+		assertEquals(Arrays.asList("Europe", "Asia", "Other"), loaded);
+		try {
+			ZoneRulesProviders.getRules(provider, "Europe/Unknown");
+			fail();
+		} catch (ZoneRulesException ex) {
+			// expected
+		}
+		// the chunk names come from the index
+		loaded.clear();
+		provider = Providers.ofChunks(chunkIndex("Europe,Rest"), loader);
+		ZoneRulesProviders.getRules(provider, "Asia/Tokyo");
+		ZoneRulesProviders.getRules(provider, "Europe/Paris");
+		ZoneRulesProviders.getRules(provider, "UTC");
+		assertEquals(Arrays.asList("Rest", "Europe"), loaded);
+		try {
+			Providers.ofChunks("2020a\n" + String.join("\n", ZoneRulesProvider.getAvailableZoneIds()), loader);
+			fail();
+		} catch (ZoneRulesException ex) {
+			// expected
+		}
+	}
+
+	private static String chunkIndex(String chunks) {
+		return "2020a\n#chunks " + chunks + "\n" + String.join("\n", ZoneRulesProvider.getAvailableZoneIds());
+	}
+
+	@Test
+	public void test_chunked_prefetch() {
+		ArrayBuffer buffer = tzdb();
+		Map<String, Consumer<ByteBuffer>> pending = new HashMap<>();
+		TzdbChunkLoader loader = new TzdbChunkLoader() {
+			@Override
+			public ByteBuffer load(String chunk) {
+				fail("Synchronous load of " + chunk);
+				return null;
+			}
+
+			@Override
+			public void load(String chunk, Consumer<ByteBuffer> callback) {
+				assertNull(pending.put(chunk, callback));
+			}
+		};
+		String index = chunkIndex("Africa,America,Antarctica,Asia,Atlantic,Australia,Europe,Indian,Pacific,Other");
+		ChunkedTzdbZoneRulesProvider provider = Providers.ofChunks(index, loader);
+		int[] ready = new int[1];
+		provider.prefetch(
+				Arrays.asList("Asia/Tokyo", "Asia/Kolkata", "Europe/Paris", "Europe/Unknown", "Africa/Cairo"),
+				() -> ready[0]++);
+		assertEquals(new HashSet<>(Arrays.asList("Asia", "Europe", "Africa")), pending.keySet());
+		pending.remove("Asia").accept(TypedArrayHelper.wrap(buffer));
+		assertEquals(0, ready[0]);
+		assertTrue(provider.isLoaded("Asia/Tokyo"));
+		assertEquals(ZoneRulesProvider.getRules("Asia/Tokyo", false),
+				ZoneRulesProviders.getRules(provider, "Asia/Tokyo"));
+		// the failed chunk is ready too
+		pending.remove("Europe").accept(null);
+		assertEquals(0, ready[0]);
+		assertFalse(provider.isLoaded("Europe/Paris"));
+		// and the corrupt one
+		pending.remove("Africa").accept(ByteBuffer.wrap(new byte[] { 1, 'T', 'Z' }));
+		assertEquals(1, ready[0]);
+		assertFalse(provider.isLoaded("Africa/Cairo"));
+		// nothing to load
+		provider.prefetch(Arrays.asList("Asia/Tokyo"), () -> ready[0]++);
+		assertEquals(2, ready[0]);
+		assertTrue(pending.isEmpty());
+	}
+
+	@Test
+	public void test_stream() {
+		ArrayBuffer buffer = tzdb();
+		ZoneRulesProvider expected = Providers.of(TypedArrayHelper.wrap(buffer));
+		int length = (int) buffer.byteLength;
+		for (int size : new int[] { 3, 4096, length }) {
+			TzdbStreamParser parser = new TzdbStreamParser(0);
+			boolean idsBeforeEnd = false;
+			for (ByteBuffer chunk : chunks(buffer, size)) {
+				assertFalse(parser.isComplete());
+				if (!parser.append(chunk) && parser.getZoneIds() != null) {
+					idsBeforeEnd = true;
+				}
+			}
+			assertTrue(parser.isComplete());
+			assertEquals(size < length, idsBeforeEnd);
+			assertEquals(ZoneRulesProvider.getAvailableZoneIds(), new HashSet<>(parser.getZoneIds()));
+			for (String zone : ZONES) {
+				assertEquals(ZoneRulesProviders.getRules(expected, zone),
+						ZoneRulesProviders.getRules(parser.getProvider(), zone));
+			}
+		}
+	}
+
+	@Test
+	public void test_stream_incomplete() {
+		ArrayBuffer buffer = tzdb();
+		TzdbStreamParser parser = new TzdbStreamParser((int) buffer.byteLength);
+		List<ByteBuffer> chunks = chunks(buffer, 1000);
+		for (ByteBuffer chunk : chunks.subList(0, chunks.size() - 1)) {
+			parser.append(chunk);
+		}
+		assertFalse(parser.isComplete());
+		try {
+			parser.getProvider();
+			fail();
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	/**
+	 * Local stand-in of a streamed download
+	 */
+	private static List<ByteBuffer> chunks(ArrayBuffer buffer, int size) {
+		List<ByteBuffer> chunks = new ArrayList<>();
+		int length = (int) buffer.byteLength;
+		for (int offset = 0; offset < length; offset += size) {
+			ByteBuffer chunk = TypedArrayHelper.wrap(buffer);
+			chunk.limit(Math.min(offset + size, length));
+			chunk.position(offset);
+			chunks.add(chunk);
+		}
+		return chunks;
+	}
+
+	@Test
+	public void test_horizon() {
+		ArrayBuffer buffer = tzdb();
+		ZoneRulesProvider full = Providers.of(TypedArrayHelper.wrap(buffer));
+		for (String zone : ZONES) {
+			ZoneRules expected = ZoneRulesProviders.getRules(full, zone);
+			// equals decodes the history, so use a fresh provider for each check
+			ZoneRules rules = ZoneRulesProviders.getRules(Providers.of(TypedArrayHelper.wrap(buffer), 1970), zone);
+			for (int year = 1960; year < 2040; year++) {
+				for (int month = 1; month <= 12; month++) {
+					LocalDateTime dt = LocalDateTime.of(year, month, 1, 2, 30);
+					Instant instant = dt.toInstant(ZoneOffset.UTC);
+					assertEquals(zone + " " + dt, expected.getOffset(instant), rules.getOffset(instant));
+					assertEquals(zone + " " + dt, expected.getStandardOffset(instant),
+							rules.getStandardOffset(instant));
+					assertEquals(zone + " " + dt, expected.nextTransition(instant), rules.nextTransition(instant));
+					assertEquals(zone + " " + dt, expected.previousTransition(instant),
+							rules.previousTransition(instant));
+					assertEquals(zone + " " + dt, expected.getValidOffsets(dt), rules.getValidOffsets(dt));
+					assertEquals(zone + " " + dt, expected.getTransition(dt), rules.getTransition(dt));
+				}
+			}
+			// every transition, gaps and overlaps included
+			for (ZoneOffsetTransition trans : expected.getTransitions()) {
+				Instant instant = trans.getInstant();
+				assertEquals(zone + " " + trans, expected.getOffset(instant), rules.getOffset(instant));
+				assertEquals(zone + " " + trans, expected.previousTransition(instant),
+						rules.previousTransition(instant));
+				LocalDateTime dt = trans.getDateTimeBefore();
+				assertEquals(zone + " " + trans, expected.getTransition(dt), rules.getTransition(dt));
+				assertEquals(zone + " " + trans, expected.getValidOffsets(dt.plusMinutes(30)),
+						rules.getValidOffsets(dt.plusMinutes(30)));
+			}
+			assertEquals(zone, expected.isFixedOffset(), rules.isFixedOffset());
+			assertEquals(zone, expected.getTransitions(), rules.getTransitions());
+			assertEquals(zone, expected, rules);
+			assertEquals(zone, expected.hashCode(), rules.hashCode());
+		}
+	}
+
+	@Test
+	public void test_horizon_skips_transitions() throws IOException {
+		long[] all = { -999999900, 1, 900000, 999999900, 1999999800 };
+		ByteBuffer in = v1EpochSecs(all);
+		int end = in.limit();
+		// all kept
+		assertTrue(Arrays.equals(all, Sers.readTransitionEpochSecs(in, all.length, Long.MIN_VALUE, false)));
+		assertEquals(end, in.position());
+		// only the tail from the cutoff is allocated, the skipped ones are read past
+		in.rewind();
+		long[] tail = Sers.readTransitionEpochSecs(in, all.length, 900000, false);
+		assertTrue(Arrays.toString(tail), Arrays.equals(new long[] { 900000, 999999900, 1999999800 }, tail));
+		assertEquals(end, in.position());
+		// none kept
+		in.rewind();
+		assertEquals(0, Sers.readTransitionEpochSecs(in, all.length, 2000000000, false).length);
+		assertEquals(end, in.position());
+		// the last one kept
+		in.rewind();
+		tail = Sers.readTransitionEpochSecs(in, all.length, 2000000000, true);
+		assertTrue(Arrays.toString(tail), Arrays.equals(new long[] { 1999999800 }, tail));
+		assertEquals(end, in.position());
+		in.rewind();
+		assertEquals(0, Sers.readTransitionEpochSecs(in, 0, 2000000000, true).length);
+	}
+
+	/**
+	 * @return the epoch seconds in the v1 format, 3 bytes of quarter hours or 255 and the long
+	 */
+	private static ByteBuffer v1EpochSecs(long[] epochSecs) {
+		ByteBuffer out = ByteBuffer.allocate(epochSecs.length * 9);
+		for (long epochSec : epochSecs) {
+			if (epochSec % 900 == 0) {
+				int store = (int) ((epochSec + 4575744000L) / 900);
+				out.put((byte) (store >>> 16)).put((byte) (store >>> 8)).put((byte) store);
+			} else {
+				out.put((byte) 255).putLong(epochSec);
+			}
+		}
+		out.flip();
+		return out;
+	}
+
+	@Test
+	public void test_refresh() {
+		ZoneRulesProvider provider = Providers.of(TypedArrayHelper.wrap(tzdb()));
+		ZoneRules old = ZoneRulesProviders.getRules(provider, "Europe/Paris");
+		Instant instant = LocalDateTime.of(2030, 7, 1, 12, 0).toInstant(ZoneOffset.UTC);
+		ZoneOffset offset = old.getOffset(instant);
+		assertFalse(ZoneRulesProviders.refresh(provider));
+		// the same version is not an update
+		assertTrue(Providers.offer(provider, TypedArrayHelper.wrap(tzdb())));
+		assertFalse(ZoneRulesProviders.refresh(provider));
+		assertSame(old, ZoneRulesProviders.getRules(provider, "Europe/Paris"));
+		// a newer version replaces the rules
+		assertTrue(Providers.offer(provider, withVersion(tzdb(), '9')));
+		assertTrue(ZoneRulesProviders.refresh(provider));
+		ZoneRules rules = ZoneRulesProviders.getRules(provider, "Europe/Paris");
+		assertNotSame(old, rules);
+		assertEquals(old, rules);
+		// the superseded rules still work, the caches are rebuilt
+		assertEquals(offset, old.getOffset(instant));
+		assertEquals(offset, rules.getOffset(instant));
+	}
+
+	/**
+	 * @return the TZDB with all the characters of the (first) version ID
+	 *         replaced, the new ID sorts after the original one for a digit
+	 */
+	private static ByteBuffer withVersion(ArrayBuffer buffer, char c) {
+		ByteBuffer data = TypedArrayHelper.wrap(buffer);
+		// format, "TZDB", version count
+		int position = 1 + 2 + 4 + 2;
+		int length = data.getShort(position) & 0xffff;
+		for (int i = 0; i < length; i++) {
+			data.put(position + 2 + i, (byte) c);
+		}
+		return data;
+	}
+
+	@Test
+	public void test_benchmark_horizon() {
+		ArrayBuffer buffer = tzdb();
+		Set<String> zones = ZoneRulesProvider.getAvailableZoneIds();
+		float fullTime = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			ZoneRulesProvider provider = Providers.of(TypedArrayHelper.wrap(buffer));
+			float start = Support.getTimestamp();
+			for (String zone : zones) {
+				ZoneRulesProviders.getRules(provider, zone);
+			}
+			fullTime += Support.getTimestamp() - start;
+		}
+		float horizonTime = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			ZoneRulesProvider provider = Providers.of(TypedArrayHelper.wrap(buffer), 1970);
+			float start = Support.getTimestamp();
+			for (String zone : zones) {
+				ZoneRulesProviders.getRules(provider, zone);
+			}
+			horizonTime += Support.getTimestamp() - start;
+		}
+		LOGGER.info("Rules decoding ({} zones), full history: {} ms, from 1970: {} ms", zones.size(),
+				fullTime / ROUNDS, horizonTime / ROUNDS);
+	}
+
+	@Test
+	public void test_benchmark_startup() {
+		ArrayBuffer buffer = tzdb();
+		// old path: the tables parsed and each rule copied byte by byte
+		float copyTime = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			float start = Support.getTimestamp();
+			loadCopies(TypedArrayHelper.wrap(buffer));
+			copyTime += Support.getTimestamp() - start;
+		}
+		// new path: views into the original buffer
+		float sliceTime = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			float start = Support.getTimestamp();
+			Providers.of(TypedArrayHelper.wrap(buffer));
+			sliceTime += Support.getTimestamp() - start;
+		}
+		LOGGER.info("TZDB startup ({} bytes), old rule copies: {} ms, slices: {} ms", buffer.byteLength,
+				copyTime / ROUNDS, sliceTime / ROUNDS);
+	}
+
+	/**
+	 * The baseline of the startup benchmark, loads the data as the
+	 * {@code loadData} before the rule views: parses the tables and copies each
+	 * rule byte by byte into its own buffer.
+	 *
+	 * @return version -> region -> rule copy
+	 */
+	private static Map<String, Map<String, ArrayBufferNative>> loadCopies(ByteBuffer data) {
+		byte format = data.get();
+		readUtf(data);
+		String[] versions = new String[data.getShort()];
+		for (int i = 0; i < versions.length; i++) {
+			versions[i] = readUtf(data);
+		}
+		String[] regions = new String[data.getShort()];
+		for (int i = 0; i < regions.length; i++) {
+			regions[i] = readUtf(data);
+		}
+		if (format == 2) {
+			// the offset dictionary
+			int offsetCount = data.getShort();
+			data.position(data.position() + offsetCount * 4);
+		}
+		ArrayBufferNative[] rules = new ArrayBufferNative[data.getShort()];
+		for (int i = 0; i < rules.length; i++) {
+			int length = data.getShort() & 0xffff;
+			ArrayBufferNative rule = new ArrayBufferNative(length);
+			Int8ArrayNative array = new Int8ArrayNative(rule);
+			for (int j = 0; j < length; j++) {
+				array.set(j, data.get());
+			}
+			rules[i] = rule;
+		}
+		Map<String, Map<String, ArrayBufferNative>> result = new HashMap<>();
+		for (String version : versions) {
+			Map<String, ArrayBufferNative> links = new HashMap<>();
+			int linkCount = data.getShort();
+			for (int i = 0; i < linkCount; i++) {
+				links.put(regions[data.getShort()], rules[data.getShort()]);
+			}
+			result.put(version, links);
+		}
+		return result;
+	}
+
+	private static String readUtf(ByteBuffer data) {
+		byte[] bytes = new byte[data.getShort() & 0xffff];
+		data.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,142 @@
+package org.jresearch.threetenbp.gwt.client.zone;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.Providers;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.time.zone.ZoneRulesProvider;
+import java.time.zone.ZoneRulesProviders;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.gwtproject.nio.TypedArrayHelper;
+import org.jresearch.threetenbp.gwt.client.AbstractTest;
+import org.jresearch.threetenbp.gwt.client.Support;
+import org.jresearch.threetenbp.gwt.client.loader.TimeJsBundle;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Test TzifZoneRulesProvider against the bundled TZDB.
+ */
+public class TestTzifZoneRulesProvider extends AbstractTest {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TestTzifZoneRulesProvider.class);
+
+	private static final TimeJsBundle BUNDLE = GWT.create(TimeJsBundle.class);
+
+	/**
+	 * Europe/Paris, tzdata 2025b, {@code zic -b slim}
+	 */
+	private static final String PARIS = "VFppZjIAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAQAAAAEAAAAAAAAAVFppZjIAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAABlAAAABwAAAB//////a8mbz/////+RYFBP/////5tHePD/////m9cscP////+cvJFw/////53ASPD/"
+			+ "////non+cP////+foCrw/////6BgpfD/////oYAM8P////+iLhLw/////6N6TPD/////pDWB8P////+lXiNw/////6YlNfD/"
+			+ "////pyeb8P////+oWCZw/////6kHffD/////qe40cP////+q51/w/////6vXUPD/////rMdB8P////+tyafw/////66nI/D/"
+			+ "////r6BPcP////+whwXw/////7GJa/D/////snAicP////+zcohw/////7RQBHD/////tUkv8P////+2L+Zw/////7cyTHD/"
+			+ "////uA/IcP////+4/7lw/////7nvqnD/////utZg8P////+72Mbw/////7zIt/D/////vbio8P////++n19w/////7+YivD/"
+			+ "////wJrw8P/////BeGzw/////8JoXfD/////w1hO8P/////EPwVw/////8U4MPD/////xjqW8P/////HWKxw/////8faCaD/"
+			+ "////yGwn4P/////M50sQ/////82pF5D/////zqJDEP/////PkjQQ/////9BP4eD/////0Inx8P/////RchYQ/////9JOQJAA"
+			+ "AAAAC7s5AAAAAAAMqxvwAAAAAA2kY5AAAAAADosaEAAAAAAPhEWQAAAAABB0NpAAAAAAEWQnkAAAAAASVBiQAAAAABNNRBAA"
+			+ "AAAAFDP6kAAAAAAVI+uQAAAAABYT3JAAAAAAFwPNkAAAAAAX876QAAAAABjjr5AAAAAAGdOgkAAAAAAaw5GQAAAAABu8vRAA"
+			+ "AAAAHKyuEAAAAAAdnJ8QAAAAAB6MkBAAAAAAH3yBEAAAAAAgbHIQAAAAACFcYxAAAAAAIkxUEAAAAAAjPEUQAAAAACQsNhAA"
+			+ "AAAAJRwnEAAAAAAmDBgQAAAAACcFQ5AAAAAAJ/U0kAAAAAAo5SWQAAAAACnVFpAAAAAAKsUHkAAAAAArtPiQAAAAACyk6ZAA"
+			+ "AAAALZTakAAAAAAuhMuQAAAAAC90vJAAAAAAMGStkAAAAAAxXdkQAQMCAwIDAgMCAwIDAgMCAwIDAgMCAwIDAgMCAwIDAgMC"
+			+ "AwIDAgMCAwIDAgMCAwIDAgMCBQQFBAUGAgYEBQQFBAUEBQQFBAUEBQQFBAUEBQQFBAUEBQQFBAUEBQQFBAUEBQQFBAUAAAIx"
+			+ "AAAAAAIxAAQAAA4QAQgAAAAAAA0AAA4QABEAABwgARUAABwgARpMTVQAUE1UAFdFU1QAV0VUAENFVABDRVNUAFdFTVQACkNF"
+			+ "VC0xQ0VTVCxNMy41LjAsTTEwLjUuMC8zCg==";
+
+	/**
+	 * Asia/Tokyo, tzdata 2025b, {@code zic -b slim}
+	 */
+	private static final String TOKYO = "VFppZjIAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAQAAAAEAAAAAAAAAVFppZjIAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAJAAAAAwAAAAz/////ZcKkcP/////XPgJw/////9ftWfD/////2Pj6cP/////ZzTvw/////9sHAPD/"
+			+ "////260d8P/////c5uLw/////92M//ACAQIBAgECAQIAAIMDAAAAAIygAQQAAH6QAAhMTVQASkRUAEpTVAAKSlNULTkK";
+
+	/**
+	 * Australia/Sydney, tzdata 2025b, {@code zic -b slim}
+	 */
+	private static final String SYDNEY = "VFppZjIAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAQAAAAEAAAAAAAAAVFppZjIAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAABTAAAAAwAAAA7/////cxZ/PP////+cTsKA/////5y8LwD/////y1SzAP/////Lx2WA/////8y3VoD/"
+			+ "////zadHgP/////OoHMA/////8+HKYAAAAAAA3A5gAAAAAAEDRwAAAAAAAVQG4AAAAAABfY4gAAAAAAHL/2AAAAAAAfWGoAA"
+			+ "AAAACQ/fgAAAAAAJtfyAAAAAAArvwYAAAAAAC58ZAAAAAAAM2N4AAAAAAA1++wAAAAAADrjAAAAAAAAPXt0AAAAAABCYogAA"
+			+ "AAAAET6/AAAAAAASeIQAAAAAABMeoQAAAAAAFFhmAAAAAAAU/oMAAAAAABY4SAAAAAAAFwyJgAAAAAAYIWSAAAAAABjHgYAA"
+			+ "AAAAGgFGgAAAAAAap2OAAAAAABvhKIAAAAAAHIdFgAAAAAAdwQqAAAAAAB55nIAAAAAAH5eyAAAAAAAgWX6AAAAAACGAzoAA"
+			+ "AAAAIkKbAAAAAAAjaesAAAAAACQifQAAAAAAJUnNAAAAAAAl7+oAAAAAACcprwAAAAAAJ8/MAAAAAAApCZEAAAAAACmvrgAA"
+			+ "AAAAKulzAAAAAAArmMqAAAAAACzSj4AAAAAALXisgAAAAAAusnGAAAAAAC9YjoAAAAAAMJJTgAAAAAAxXVqAAAAAADJyNYAA"
+			+ "AAAAMz08gAAAAAA0UheAAAAAADUdHoAAAAAANjH5gAAAAAA2/QCAAAAAADgbFgAAAAAAONzigAAAAAA5p+mAAAAAADq8xIAA"
+			+ "AAAAO9raAAAAAAA8peEAAAAAAD26vAAAAAAAPoXDAAAAAAA/mp4AAAAAAEBlpQAAAAAAQYO6gAAAAABCRYcAAAAAAENjnIAA"
+			+ "AAAARC6jgAAAAABFQ36AAAAAAEYFSwAAAAAARyNggAAAAABH96IAAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgEC"
+			+ "AQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIBAgECAQIAAI3EAAAAAJqwAQQAAIygAAlMTVQA"
+			+ "QUVEVABBRVNUAApBRVNULTEwQUVEVCxNMTAuMS4wLE00LjEuMC8zCg==";
+
+	private static ZoneRulesProvider tzif() {
+		Map<String, ByteBuffer> files = new HashMap<>();
+		files.put("Europe/Paris", TypedArrayHelper.wrap(Support.decodeArrayBuffer(PARIS)));
+		files.put("Asia/Tokyo", TypedArrayHelper.wrap(Support.decodeArrayBuffer(TOKYO)));
+		files.put("Australia/Sydney", TypedArrayHelper.wrap(Support.decodeArrayBuffer(SYDNEY)));
+		return Providers.ofTzif("2025b", files);
+	}
+
+	@Test
+	public void test_rules() {
+		ZoneRulesProvider tzdb = Providers.of(TypedArrayHelper.wrap(Support.decodeArrayBuffer(BUNDLE.tzdbEncoded().getText())));
+		ZoneRulesProvider provider = tzif();
+		for (String zone : new String[] { "Europe/Paris", "Asia/Tokyo", "Australia/Sydney" }) {
+			float start = Support.getTimestamp();
+			ZoneRules rules = ZoneRulesProviders.getRules(provider, zone);
+			LOGGER.info("TZif rules of {}: {} ms", zone, Support.getTimestamp() - start);
+			assertConforms(zone, ZoneRulesProviders.getRules(tzdb, zone), rules);
+		}
+	}
+
+	@Test
+	public void test_lazy() {
+		Map<String, ByteBuffer> files = new HashMap<>();
+		files.put("Asia/Tokyo", TypedArrayHelper.wrap(Support.decodeArrayBuffer(TOKYO)));
+		files.put("Europe/Invalid", ByteBuffer.wrap(new byte[] { 'T', 'Z', 'i', 'f' }));
+		ZoneRulesProvider provider = Providers.ofTzif("2025b", files);
+		// the invalid file is not parsed until it is used
+		assertSame(ZoneRulesProviders.getRules(provider, "Asia/Tokyo"),
+				ZoneRulesProviders.getRules(provider, "Asia/Tokyo"));
+		try {
+			ZoneRulesProviders.getRules(provider, "Europe/Invalid");
+			fail();
+		} catch (ZoneRulesException ex) {
+			// expected
+		}
+		try {
+			ZoneRulesProviders.getRules(provider, "Europe/Unknown");
+			fail();
+		} catch (ZoneRulesException ex) {
+			// expected
+		}
+	}
+
+	private static void assertConforms(String zone, ZoneRules expected, ZoneRules rules) {
+		// the rules from the POSIX TZ footer included
+		for (int year = 1970; year < 2050; year++) {
+			for (int month = 1; month <= 12; month++) {
+				LocalDateTime dt = LocalDateTime.of(year, month, 1, 2, 30);
+				Instant instant = dt.toInstant(ZoneOffset.UTC);
+				assertEquals(zone + " " + dt, expected.getOffset(instant), rules.getOffset(instant));
+				assertEquals(zone + " " + dt, expected.getValidOffsets(dt), rules.getValidOffsets(dt));
+			}
+		}
+		for (ZoneOffsetTransition trans : expected.getTransitions()) {
+			if (trans.getDateTimeBefore().getYear() >= 1970) {
+				// the first local date-time of the gap or the overlap
+				LocalDateTime local = trans.isGap() ? trans.getDateTimeBefore() : trans.getDateTimeAfter();
+				assertEquals(zone + " " + trans, trans, rules.getTransition(local));
+				assertEquals(zone + " " + trans, trans, rules.previousTransition(trans.getInstant().plusSeconds(1)));
+			}
+		}
+	}
+
+}
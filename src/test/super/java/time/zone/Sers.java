@@ -0,0 +1,16 @@
+package java.time.zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class Sers {
+
+	private Sers() {
+		// prevent instantiation
+	}
+
+	public static long[] readTransitionEpochSecs(ByteBuffer in, int size, long cutoff, boolean keepLast) throws IOException {
+		return Ser.readTransitionEpochSecs(in, size, null, cutoff, keepLast);
+	}
+
+}
@@ -0,0 +1,17 @@
+package java.time.zone;
+
+public class ZoneRulesProviders {
+
+	private ZoneRulesProviders() {
+		// prevent instantiation
+	}
+
+	public static ZoneRules getRules(ZoneRulesProvider provider, String zoneId) {
+		return provider.provideRules(zoneId, false);
+	}
+
+	public static boolean refresh(ZoneRulesProvider provider) {
+		return provider.provideRefresh();
+	}
+
+}